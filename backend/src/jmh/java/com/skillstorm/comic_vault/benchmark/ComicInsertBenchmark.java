@@ -0,0 +1,102 @@
+package com.skillstorm.comic_vault.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.skillstorm.comic_vault.ComicVaultApplication;
+import com.skillstorm.comic_vault.model.Comic;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * time to persist a {@code rows}-comic catalog through JPA, 1000 comics per transaction
+ * identity = the old IDENTITY mapping (IdentityComic), one INSERT round trip per comic;
+ * sequence = Comic on the pooled comic_seq, INSERTs sent as JDBC batches of hibernate.jdbc.batch_size
+ *
+ * run with: mvn -P benchmarks -DskipTests verify -Djmh.include=ComicInsertBenchmark
+ * against PostgreSQL: add -Djmh.params="-jvmArgsAppend -Dspring.datasource.url=jdbc:postgresql://... ..."
+ * with the username, password, driver-class-name and spring.jpa.database-platform overrides
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ComicInsertBenchmark {
+
+    private static final int CHUNK = 1000;
+
+    @Param({"identity", "sequence"})
+    public String ids;
+
+    @Param({"100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate tx;
+    private JdbcTemplate jdbc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ComicVaultApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties("logging.level.root=WARN")
+            // IdentityComic has no migration; let hibernate add its table next to the migrated schema
+            .run("--spring.jpa.hibernate.ddl-auto=update");
+        entityManager = context.getBean(EntityManager.class);
+        tx = context.getBean(TransactionTemplate.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+    }
+
+    // every measured load starts from empty tables
+    @Setup(Level.Iteration)
+    public void clearTables() {
+        jdbc.update("delete from comic");
+        jdbc.update("delete from bench_identity_comic");
+    }
+
+    @Benchmark
+    public void insertCatalog() {
+        boolean identity = "identity".equals(ids);
+        for (int start = 0; start < rows; start += CHUNK) {
+            int from = start;
+            tx.executeWithoutResult(status -> {
+                for (int i = from; i < Math.min(from + CHUNK, rows); i++) {
+                    String sku = String.format("BENCH-%06d", i);
+                    BigDecimal price = BigDecimal.valueOf(4.99);
+                    entityManager.persist(identity
+                        ? new IdentityComic(sku, "Benchmark Comic " + i, null, price)
+                        : new Comic(sku, "Benchmark Comic " + i, null, price));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+}
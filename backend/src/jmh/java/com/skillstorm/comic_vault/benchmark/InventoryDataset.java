@@ -0,0 +1,113 @@
+package com.skillstorm.comic_vault.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.skillstorm.comic_vault.ComicVaultApplication;
+import com.skillstorm.comic_vault.dto.VaultInventoryItem;
+import com.skillstorm.comic_vault.model.Comic;
+import com.skillstorm.comic_vault.model.Vault;
+import com.skillstorm.comic_vault.repository.ComicRepository;
+import com.skillstorm.comic_vault.repository.VaultInventoryRepository;
+import com.skillstorm.comic_vault.repository.VaultRepository;
+
+/**
+ * one Spring context on a fresh in-memory H2 database per fork, seeded with a "large" vault
+ * holding {@code rows} inventory records (one per comic, 1000 copies each) and an empty vault
+ * to transfer into
+ */
+@State(Scope.Benchmark)
+public class InventoryDataset {
+
+    private static final int QUANTITY_PER_ROW = 1000;
+    private static final int CHUNK = 1000;
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    public ConfigurableApplicationContext context;
+    public Long largeVaultId;
+    public Long emptyVaultId;
+    public long[] comicIds;
+    public long[] inventoryIds;
+    // the whole large vault as the API DTO, for serialization-only benchmarks
+    public List<VaultInventoryItem> items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ComicVaultApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "logging.level.root=WARN")
+            // the benchmark-only IdentityComic table isn't in the migrations
+            .run("--spring.jpa.hibernate.ddl-auto=update");
+
+        VaultRepository vaultRepository = context.getBean(VaultRepository.class);
+        ComicRepository comicRepository = context.getBean(ComicRepository.class);
+        VaultInventoryRepository inventoryRepository = context.getBean(VaultInventoryRepository.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        TransactionTemplate tx = context.getBean(TransactionTemplate.class);
+
+        // capacity far above anything the benchmarks can add during a trial
+        Vault largeVault = vaultRepository.save(new Vault("Benchmark Large", "Bench", 1_000_000_000));
+        Vault emptyVault = vaultRepository.save(new Vault("Benchmark Empty", "Bench", 1_000_000_000));
+        largeVaultId = largeVault.getId();
+        emptyVaultId = emptyVault.getId();
+
+        // comics through JPA so seeding keeps working whatever the id strategy is
+        comicIds = new long[rows];
+        for (int start = 0; start < rows; start += CHUNK) {
+            int from = start;
+            List<Comic> saved = tx.execute(status -> {
+                List<Comic> chunk = new ArrayList<>();
+                for (int i = from; i < Math.min(from + CHUNK, rows); i++) {
+                    chunk.add(new Comic(String.format("BENCH-%06d", i), "Benchmark Comic " + i, null, BigDecimal.valueOf(4.99)));
+                }
+                return comicRepository.saveAll(chunk);
+            });
+            for (int i = 0; i < saved.size(); i++) {
+                comicIds[from + i] = saved.get(i).getId();
+            }
+        }
+
+        // inventory rows straight through JDBC batches; ids come from the same sequence Hibernate uses,
+        // each nextval is a fresh block for the pooled optimizer so the two never overlap
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(CHUNK);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[] {largeVaultId, comicIds[i], QUANTITY_PER_ROW, now, now});
+            if (batch.size() == CHUNK || i == rows - 1) {
+                jdbc.batchUpdate("insert into vault_inventory (id, vault_id, comic_id, quantity, version, created_at, updated_at) " +
+                    "values (next value for vault_inventory_seq, ?, ?, ?, 0, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        jdbc.update("update vault set current_total = ? where id = ?", (long) rows * QUANTITY_PER_ROW, largeVaultId);
+
+        items = inventoryRepository.findItemsByVaultId(largeVaultId, PageRequest.of(0, rows, Sort.by("id"))).getContent();
+        inventoryIds = items.stream().mapToLong(VaultInventoryItem::getId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+}
@@ -0,0 +1,139 @@
+package com.skillstorm.comic_vault.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.skillstorm.comic_vault.ComicVaultApplication;
+import com.skillstorm.comic_vault.dto.PlacementLine;
+import com.skillstorm.comic_vault.dto.PlacementResponse;
+import com.skillstorm.comic_vault.model.Comic;
+import com.skillstorm.comic_vault.model.Vault;
+import com.skillstorm.comic_vault.model.VaultInventory;
+import com.skillstorm.comic_vault.repository.ComicRepository;
+import com.skillstorm.comic_vault.repository.VaultInventoryRepository;
+import com.skillstorm.comic_vault.repository.VaultRepository;
+import com.skillstorm.comic_vault.service.PlacementService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * time to plan a {@code lines}-line shipment across {@code vaults} vaults spread over 20 locations, where every
+ * comic already sits in one random vault (so consolidation has work to do) and the vaults are half full
+ * measures PlacementService.plan as the endpoint runs it: the occupancy and inventory queries plus the planning
+ *
+ * run with: mvn -P benchmarks -DskipTests verify -Djmh.include=PlacementBenchmark
+ * against PostgreSQL: add -Djmh.params="-jvmArgsAppend -Dspring.datasource.url=jdbc:postgresql://... ..." like
+ * ComicInsertBenchmark; in-memory H2 filters a long "in (...)" list row by row, PostgreSQL looks the ids up
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlacementBenchmark {
+
+    private static final int LOCATIONS = 20;
+    private static final int CAPACITY = 2000;
+    private static final int CHUNK = 1000;
+
+    @Param({"1000"})
+    public int vaults;
+
+    @Param({"10000"})
+    public int lines;
+
+    @Param({"false", "true"})
+    public boolean groupByLocation;
+
+    private ConfigurableApplicationContext context;
+    private PlacementService placementService;
+    private List<PlacementLine> shipment;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ComicVaultApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:placement;DB_CLOSE_DELAY=-1",
+                "logging.level.root=WARN")
+            // the benchmark-only IdentityComic table isn't in the migrations
+            .run("--spring.jpa.hibernate.ddl-auto=update");
+        placementService = context.getBean(PlacementService.class);
+        VaultRepository vaultRepository = context.getBean(VaultRepository.class);
+        ComicRepository comicRepository = context.getBean(ComicRepository.class);
+        VaultInventoryRepository inventoryRepository = context.getBean(VaultInventoryRepository.class);
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        TransactionTemplate tx = context.getBean(TransactionTemplate.class);
+        Random random = new Random(42);
+
+        List<Vault> newVaults = new ArrayList<>();
+        for (int i = 0; i < vaults; i++) {
+            newVaults.add(new Vault("Placement Vault " + i, "Location " + (i % LOCATIONS), CAPACITY));
+        }
+        List<Vault> savedVaults = vaultRepository.saveAll(newVaults);
+
+        // one comic per shipment line, each already held by one vault; those rows fill the vaults about halfway
+        int heldPerRow = Math.max(1, vaults * CAPACITY / 2 / lines);
+        long[] comicIds = new long[lines];
+        for (int start = 0; start < lines; start += CHUNK) {
+            int from = start;
+            tx.executeWithoutResult(status -> {
+                List<Comic> chunk = new ArrayList<>();
+                for (int i = from; i < Math.min(from + CHUNK, lines); i++) {
+                    chunk.add(new Comic(String.format("PLACE-%06d", i), "Placement Comic " + i, null, BigDecimal.valueOf(4.99)));
+                }
+                List<VaultInventory> rows = new ArrayList<>();
+                for (Comic comic : comicRepository.saveAll(chunk)) {
+                    comicIds[from + rows.size()] = comic.getId();
+                    Vault vault = entityManager.getReference(Vault.class, savedVaults.get(random.nextInt(vaults)).getId());
+                    rows.add(new VaultInventory(vault, comic, heldPerRow));
+                }
+                inventoryRepository.saveAll(rows);
+            });
+        }
+        jdbc.update("update vault set current_total = (select coalesce(sum(i.quantity), 0) from vault_inventory i where i.vault_id = vault.id)");
+        // fresh statistics, so the lookups are planned the way they are on a live database
+        jdbc.execute("analyze");
+
+        // a shipment that mostly fits: a quarter of the total capacity
+        int perLine = Math.max(1, vaults * CAPACITY / 4 / lines);
+        shipment = new ArrayList<>();
+        for (long comicId : comicIds) {
+            shipment.add(new PlacementLine(comicId, 1 + random.nextInt(2 * perLine)));
+        }
+    }
+
+    @Benchmark
+    public PlacementResponse plan() {
+        return placementService.plan(shipment, groupByLocation);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+}
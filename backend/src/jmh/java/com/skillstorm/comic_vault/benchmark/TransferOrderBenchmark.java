@@ -0,0 +1,169 @@
+package com.skillstorm.comic_vault.benchmark;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.comic_vault.ComicVaultApplication;
+import com.skillstorm.comic_vault.dto.TransferOrderRequest;
+import com.skillstorm.comic_vault.dto.TransferRequest;
+import com.skillstorm.comic_vault.model.Comic;
+import com.skillstorm.comic_vault.model.Vault;
+import com.skillstorm.comic_vault.model.VaultInventory;
+import com.skillstorm.comic_vault.repository.ComicRepository;
+import com.skillstorm.comic_vault.repository.VaultInventoryRepository;
+import com.skillstorm.comic_vault.repository.VaultRepository;
+
+/**
+ * moving {@code lines} comics out of a vault holding 10k comics and back, over HTTP, either as two
+ * POST /api/inventory/transfer-orders calls or as one POST /api/inventory/transfer call per line;
+ * both do the same work, so the ratio of the two times is the transfer order speedup
+ *
+ * an invocation takes up to seconds, hence the longer iterations so the JIT is done warming up
+ *
+ * run with: mvn -P benchmarks -DskipTests verify -Djmh.include=TransferOrderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransferOrderBenchmark {
+
+    private static final int COMICS = 10_000;
+    private static final int QUANTITY_PER_ROW = 1000;
+    private static final int CHUNK = 1000;
+
+    @Param({"100", "500"})
+    public int lines;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private ObjectMapper objectMapper;
+    private String baseUrl;
+    private Long fullVaultId;
+    private Long emptyVaultId;
+    private long[] comicIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ComicVaultApplication.class)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:transferorders;DB_CLOSE_DELAY=-1",
+                "server.port=0",
+                "logging.level.root=WARN")
+            // the benchmark-only IdentityComic table isn't in the migrations
+            .run("--spring.jpa.hibernate.ddl-auto=update");
+        VaultRepository vaultRepository = context.getBean(VaultRepository.class);
+        ComicRepository comicRepository = context.getBean(ComicRepository.class);
+        VaultInventoryRepository inventoryRepository = context.getBean(VaultInventoryRepository.class);
+        TransactionTemplate tx = context.getBean(TransactionTemplate.class);
+
+        // capacity far above anything a trial moves
+        Vault fullVault = vaultRepository.save(new Vault("Transfer Order Full", "Bench", 1_000_000_000));
+        Vault emptyVault = vaultRepository.save(new Vault("Transfer Order Empty", "Bench", 1_000_000_000));
+        fullVaultId = fullVault.getId();
+        emptyVaultId = emptyVault.getId();
+
+        comicIds = new long[COMICS];
+        for (int start = 0; start < COMICS; start += CHUNK) {
+            int from = start;
+            tx.executeWithoutResult(status -> {
+                List<Comic> chunk = new ArrayList<>();
+                for (int i = from; i < Math.min(from + CHUNK, COMICS); i++) {
+                    chunk.add(new Comic(String.format("ORDER-%06d", i), "Transfer Order Comic " + i, null, BigDecimal.valueOf(4.99)));
+                }
+                List<VaultInventory> rows = new ArrayList<>();
+                for (Comic comic : comicRepository.saveAll(chunk)) {
+                    comicIds[from + rows.size()] = comic.getId();
+                    rows.add(new VaultInventory(fullVault, comic, QUANTITY_PER_ROW));
+                }
+                inventoryRepository.saveAll(rows);
+            });
+        }
+        context.getBean(JdbcTemplate.class).update("update vault set current_total = ? where id = ?", (long) COMICS * QUANTITY_PER_ROW, fullVaultId);
+
+        client = HttpClient.newHttpClient();
+        objectMapper = context.getBean(ObjectMapper.class);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/inventory";
+    }
+
+    // one order out to the empty vault and one back
+    @Benchmark
+    public void transferOrder() throws IOException, InterruptedException {
+        long[] comics = randomComics();
+        post("/transfer-orders", new TransferOrderRequest(lines(comics, fullVaultId, emptyVaultId)));
+        post("/transfer-orders", new TransferOrderRequest(lines(comics, emptyVaultId, fullVaultId)));
+    }
+
+    // the same lines, one request each
+    @Benchmark
+    public void perLineTransfers() throws IOException, InterruptedException {
+        long[] comics = randomComics();
+        for (TransferRequest line : lines(comics, fullVaultId, emptyVaultId)) {
+            post("/transfer", line);
+        }
+        for (TransferRequest line : lines(comics, emptyVaultId, fullVaultId)) {
+            post("/transfer", line);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private void post(String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+            .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("POST " + path + " returned " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private static List<TransferRequest> lines(long[] comics, Long sourceVaultId, Long destinationVaultId) {
+        List<TransferRequest> lines = new ArrayList<>(comics.length);
+        for (long comicId : comics) {
+            lines.add(new TransferRequest(sourceVaultId, destinationVaultId, comicId, 1));
+        }
+        return lines;
+    }
+
+    // lines distinct comics from a random point in the catalog
+    private long[] randomComics() {
+        int start = ThreadLocalRandom.current().nextInt(COMICS - lines + 1);
+        long[] comics = new long[lines];
+        System.arraycopy(comicIds, start, comics, 0, lines);
+        return comics;
+    }
+}
@@ -0,0 +1,87 @@
+package com.skillstorm.comic_vault.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Slice;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.comic_vault.dto.VaultInventoryItem;
+import com.skillstorm.comic_vault.service.VaultInventoryService;
+
+/**
+ * service-layer hot paths against a vault of 1k / 10k / 100k inventory rows (see InventoryDataset)
+ * 
+ * run with: mvn -P benchmarks -DskipTests verify
+ * reports throughput per operation plus the gc profiler's allocation rate (gc.alloc.rate.norm = bytes per op)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VaultInventoryBenchmark {
+
+    private VaultInventoryService inventoryService;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp(InventoryDataset dataset) {
+        inventoryService = dataset.context.getBean(VaultInventoryService.class);
+        objectMapper = dataset.context.getBean(ObjectMapper.class);
+    }
+
+    // add one copy of a random comic that the vault already holds (upsert update path)
+    @Benchmark
+    public VaultInventoryItem addComicToVault(InventoryDataset dataset) {
+        return inventoryService.addComicToVault(dataset.largeVaultId, randomComic(dataset), 1);
+    }
+
+    @Benchmark
+    public int getCurrentVaultTotal(InventoryDataset dataset) {
+        return inventoryService.getCurrentVaultTotal(dataset.largeVaultId);
+    }
+
+    // one copy out to the empty vault and back again, so the dataset stays the same size;
+    // covers the destination insert and the emptied-row delete
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public void transferComicBetweenVaults(InventoryDataset dataset) {
+        long comicId = randomComic(dataset);
+        inventoryService.transferComicBetweenVaults(dataset.largeVaultId, dataset.emptyVaultId, comicId, 1);
+        inventoryService.transferComicBetweenVaults(dataset.emptyVaultId, dataset.largeVaultId, comicId, 1);
+    }
+
+    // what GET /api/vaults/{id}/inventory does for one max-size page from a random cursor
+    @Benchmark
+    public byte[] readAndSerializeInventoryPage(InventoryDataset dataset) throws JsonProcessingException {
+        long[] ids = dataset.inventoryIds;
+        String after = String.valueOf(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+        Slice<VaultInventoryItem> page = inventoryService.getVaultInventoryAfter(dataset.largeVaultId, after, "id", 500);
+        return objectMapper.writeValueAsBytes(page.getContent());
+    }
+
+    // JSON for the whole vault at once, i.e. the cost the unpaginated endpoint used to pay
+    @Benchmark
+    public byte[] serializeWholeVault(InventoryDataset dataset) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dataset.items);
+    }
+
+    private static long randomComic(InventoryDataset dataset) {
+        return dataset.comicIds[ThreadLocalRandom.current().nextInt(dataset.comicIds.length)];
+    }
+}
@@ -2,8 +2,12 @@ package com.skillstorm.comic_vault;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling       // runs the occupancy reconciliation and inventory snapshot jobs
+@EnableAsync            // runs catalog imports in the background
 public class ComicVaultApplication {
 
 	public static void main(String[] args) {
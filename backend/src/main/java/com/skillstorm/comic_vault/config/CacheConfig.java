@@ -0,0 +1,46 @@
+package com.skillstorm.comic_vault.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * in-process read cache for comic and vault lookups
+ * 
+ * entries are bounded by size and expire after a TTL (comic-vault.cache.* in application.yml);
+ * services evict on every write. hit/miss/eviction stats are published as cache.* metrics
+ * under /actuator/metrics
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // comic by id, comic by SKU, comic listing pages and count, vault by id
+    public static final String COMICS = "comics";
+    public static final String COMICS_BY_SKU = "comicsBySku";
+    public static final String COMIC_PAGES = "comicPages";
+    public static final String VAULTS = "vaults";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${comic-vault.cache.spec:maximumSize=10000,expireAfterWrite=10m}") String spec,
+            @Value("${comic-vault.cache.page-spec:maximumSize=200,expireAfterWrite=1m}") String pageSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(spec).recordStats());
+        cacheManager.setCacheNames(List.of(COMICS, COMICS_BY_SKU, VAULTS));
+
+        // listing pages are bigger and invalidated by any comic write, so they get their own bounds
+        cacheManager.registerCustomCache(COMIC_PAGES, Caffeine.from(pageSpec).recordStats().build());
+
+        // evictions inside a transaction are applied after commit, so a concurrent read
+        // can't re-cache the old row between the evict and the commit
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,37 @@
+package com.skillstorm.comic_vault.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * metrics that Spring Boot doesn't provide out of the box
+ * 
+ * everything else comes from actuator auto-configuration and is scraped from /actuator/prometheus:
+ * - comicvault.service       @Timed on the service classes (per class + method, with histogram)
+ * - comicvault.exceptions    GlobalExceptionHandler, per exception type
+ * - spring.data.repository.invocations  per repository method (lock waits show up on findByIdForUpdate)
+ * - hibernate.*              session factory statistics (hibernate.generate_statistics)
+ * - hikaricp.*               connection pool gauges
+ * - http.server.requests     per endpoint, including JSON serialization time
+ */
+@Configuration
+public class MetricsConfig {
+
+    // per-request statement counts (see StatementMetricsFilter)
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountingInspector());
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementMetricsFilter> statementMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<StatementMetricsFilter> registration = new FilterRegistrationBean<>(new StatementMetricsFilter(meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
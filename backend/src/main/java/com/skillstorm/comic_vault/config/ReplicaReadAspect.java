@@ -0,0 +1,31 @@
+package com.skillstorm.comic_vault.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * marks the calls that may read from a replica: @Transactional(readOnly = true) methods of the service layer
+ * repositories also open read-only transactions of their own (Spring Data's defaults), but those run inside
+ * write paths and behind the caches too, so on their own they stay on the primary
+ */
+@Aspect
+class ReplicaReadAspect {
+
+    @Around("within(com.skillstorm.comic_vault.service..*) && @annotation(transactional)")
+    public Object routeReadOnly(ProceedingJoinPoint joinPoint, Transactional transactional) throws Throwable {
+        if (!transactional.readOnly()) {
+            return joinPoint.proceed();
+        }
+
+        boolean outermost = ReplicaReads.enterReadOnly();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (outermost) {
+                ReplicaReads.exitReadOnly();
+            }
+        }
+    }
+}
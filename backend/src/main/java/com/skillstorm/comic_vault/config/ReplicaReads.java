@@ -0,0 +1,57 @@
+package com.skillstorm.comic_vault.config;
+
+/**
+ * per-thread state behind read replica routing (see ReplicaRoutingDataSource)
+ * - requested: the thread is inside a @Transactional(readOnly = true) service method (ReplicaReadAspect)
+ * - pinned: the current request must read from the primary because it writes or follows a recent write (ReplicaRoutingFilter)
+ * - replica: the replica this request already read from, so every read in it sees the same replication position;
+ *   outside a request it only lasts for the outermost read-only service method
+ */
+final class ReplicaReads {
+
+    private static final ThreadLocal<Boolean> REQUESTED = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> REPLICA = new ThreadLocal<>();
+
+    private ReplicaReads() {
+    }
+
+    // returns false when already inside a read-only service method, so only the outermost one clears the flag
+    static boolean enterReadOnly() {
+        if (Boolean.TRUE.equals(REQUESTED.get())) {
+            return false;
+        }
+        REQUESTED.set(true);
+        return true;
+    }
+
+    // outside a request (scheduled jobs, async work) nothing else ends the read, so the replica is forgotten here;
+    // otherwise the pooled thread would keep starting on it instead of taking turns with the other replicas
+    static void exitReadOnly() {
+        REQUESTED.remove();
+        if (PINNED.get() == null) {
+            REPLICA.remove();
+        }
+    }
+
+    static void beginRequest(boolean pinnedToPrimary) {
+        PINNED.set(pinnedToPrimary);
+    }
+
+    static void endRequest() {
+        PINNED.remove();
+        REPLICA.remove();
+    }
+
+    static boolean replicaAllowed() {
+        return Boolean.TRUE.equals(REQUESTED.get()) && !Boolean.TRUE.equals(PINNED.get());
+    }
+
+    static Integer currentReplica() {
+        return REPLICA.get();
+    }
+
+    static void useReplica(int index) {
+        REPLICA.set(index);
+    }
+}
@@ -0,0 +1,99 @@
+package com.skillstorm.comic_vault.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * read replica routing, switched on by listing replica JDBC URLs in comic-vault.replicas.urls
+ *
+ * the primary pool is built from spring.datasource.* as before; read-only transactions opened by
+ * @Transactional(readOnly = true) service methods can be served by a replica pool instead (see
+ * ReplicaRoutingDataSource). without replica URLs none of these beans exist and Spring Boot's
+ * single datasource is used
+ */
+@Configuration
+@ConditionalOnProperty("comic-vault.replicas.urls")
+public class ReplicaRoutingConfig {
+
+    // PostgreSQL standby: seconds since the last replayed transaction, or 0 when it has replayed everything
+    // it received (an idle primary would otherwise look like growing lag)
+    private static final String POSTGRES_LAG_QUERY =
+        "select case when not pg_is_in_recovery() or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 " +
+        "else extract(epoch from now() - pg_last_xact_replay_timestamp()) end";
+
+    // spring.datasource.hikari.* still applies to the primary pool (e.g. the virtual-threads profile sizing)
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource, DataSourceProperties properties, MeterRegistry meterRegistry,
+            @Value("${comic-vault.replicas.urls}") List<String> urls,
+            @Value("${comic-vault.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${comic-vault.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${comic-vault.replicas.pool-size:10}") int poolSize,
+            @Value("${comic-vault.replicas.connection-timeout:PT1S}") Duration connectionTimeout,
+            @Value("${comic-vault.replicas.max-lag:PT5S}") Duration maxLag,
+            @Value("${comic-vault.replicas.lag-query:}") String lagQuery) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (i + 1));
+            pool.setJdbcUrl(urls.get(i).trim());
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setMaximumPoolSize(poolSize);
+            // a replica that stops answering should cost a read at most this long before it falls back to the primary
+            pool.setConnectionTimeout(connectionTimeout.toMillis());
+            pool.setReadOnly(true);
+            // same hikaricp.* metrics as the primary pool, tagged with the replica's pool name
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(pool);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, pools, lagQuery.isBlank() ? POSTGRES_LAG_QUERY : lagQuery, maxLag, meterRegistry);
+    }
+
+    // the datasource JPA, Flyway and JdbcTemplate use; it only fetches the real connection at the first statement,
+    // once the transaction's read-only flag is known, and takes it from the replicas for read-only transactions
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaReadAspect replicaReadAspect() {
+        return new ReplicaReadAspect();
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReplicaRoutingFilter> replicaRoutingFilter(
+            @Value("${comic-vault.replicas.read-your-writes:PT15S}") Duration readYourWrites) {
+        FilterRegistrationBean<ReplicaRoutingFilter> registration = new FilterRegistrationBean<>(new ReplicaRoutingFilter(readYourWrites));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,149 @@
+package com.skillstorm.comic_vault.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * connections for read-only transactions (the read-only target of the routing proxy, see ReplicaRoutingConfig)
+ *
+ * a replica serves the connection when the read comes from a @Transactional(readOnly = true) service method,
+ * the request isn't pinned to the primary, and the replica passed its last health and lag check. otherwise,
+ * or when no replica hands out a connection, the primary serves it. replicas take turns; a request stays on
+ * the first replica it read from
+ */
+class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter fallbacks;
+
+    ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> pools, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = pools.stream().map(Replica::new).toList();
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.fallbacks = Counter.builder("comicvault.datasource.replica.fallbacks")
+            .description("Read-only service calls served by the primary because no replica was available")
+            .register(meterRegistry);
+
+        for (Replica replica : replicas) {
+            Gauge.builder("comicvault.datasource.replica.lag", replica, r -> r.lagSeconds)
+                .description("Replication lag at the last check; NaN when it failed")
+                .baseUnit("seconds")
+                .tag("replica", replica.name())
+                .register(meterRegistry);
+            Gauge.builder("comicvault.datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                .description("1 while the replica serves reads, 0 while they go to the primary")
+                .tag("replica", replica.name())
+                .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReplicaReads.replicaAllowed() && !replicas.isEmpty()) {
+            Integer current = ReplicaReads.currentReplica();
+            int start = current != null ? current : Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                int index = (start + i) % replicas.size();
+                Replica replica = replicas.get(index);
+                if (!replica.available) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.pool.getConnection();
+                    ReplicaReads.useReplica(index);
+                    return connection;
+                } catch (SQLException e) {
+                    // don't wait for the next check; the read falls through to another replica or the primary
+                    replica.update(false, Double.NaN, e.getMessage());
+                }
+            }
+            fallbacks.increment();
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica routing only hands out connections with the configured credentials");
+    }
+
+    // a replica serves reads while it answers the lag query with a lag of at most max-lag
+    @Scheduled(fixedDelayString = "${comic-vault.replicas.check-interval:PT5S}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                    Statement statement = connection.createStatement();
+                    ResultSet result = statement.executeQuery(lagQuery)) {
+                double lag = result.next() ? result.getDouble(1) : Double.NaN;
+                if (result.wasNull() || Double.isNaN(lag)) {
+                    replica.update(false, Double.NaN, "replication lag is unknown");
+                } else {
+                    replica.update(lag <= maxLagSeconds, lag, "replication lag " + lag + "s exceeds " + maxLagSeconds + "s");
+                }
+            } catch (SQLException e) {
+                replica.update(false, Double.NaN, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        // out of rotation until the first check passes
+        private volatile boolean available;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        private String name() {
+            return pool.getPoolName();
+        }
+
+        // logs only the transitions, not every check
+        private synchronized void update(boolean available, double lagSeconds, String reason) {
+            this.lagSeconds = lagSeconds;
+            if (available == this.available) {
+                return;
+            }
+            this.available = available;
+            if (available) {
+                log.info("Read replica {} is back in rotation (lag {}s)", name(), lagSeconds);
+            } else {
+                log.warn("Read replica {} taken out of rotation, reads go to the primary: {}", name(), reason);
+            }
+        }
+    }
+}
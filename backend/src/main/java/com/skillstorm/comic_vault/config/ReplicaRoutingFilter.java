@@ -0,0 +1,71 @@
+package com.skillstorm.comic_vault.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * read-your-writes for replica routing: a request that writes, and every request from the same client for the
+ * read-your-writes window afterwards, reads from the primary. the window's end travels in a cookie, so it
+ * holds whichever instance serves the client's next request
+ */
+class ReplicaRoutingFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "cv-read-primary-until";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Duration readYourWrites;
+
+    ReplicaRoutingFilter(Duration readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+
+        // set before the chain runs; the response may be committed by the time it returns
+        if (write) {
+            ResponseCookie cookie = ResponseCookie.from(COOKIE, String.valueOf(now + readYourWrites.toMillis()))
+                .path("/")
+                .maxAge(readYourWrites)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        }
+
+        ReplicaReads.beginRequest(write || now < primaryUntil(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaReads.endRequest();
+        }
+    }
+
+    private static long primaryUntil(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE);
+        if (cookie == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
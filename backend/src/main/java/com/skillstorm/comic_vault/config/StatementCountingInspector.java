@@ -0,0 +1,35 @@
+package com.skillstorm.comic_vault.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * counts the JDBC statements Hibernate prepares on the current thread
+ * 
+ * StatementMetricsFilter opens a count at the start of each HTTP request and records it at the end,
+ * so statements-per-request can be tracked per endpoint (N+1 regressions show up as a jump)
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;    // sql passes through unchanged
+    }
+
+    // start counting on this thread
+    static void begin() {
+        COUNT.set(new int[1]);
+    }
+
+    // stop counting on this thread and return the number of statements since begin()
+    static int end() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
@@ -0,0 +1,37 @@
+package com.skillstorm.comic_vault.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.skillstorm.comic_vault.dto.BulkInventoryRequest;
+import com.skillstorm.comic_vault.dto.BulkInventoryResponse;
+import com.skillstorm.comic_vault.service.BulkInventoryService;
+
+import jakarta.validation.Valid;
+
+// controller for adding many comics to vaults in one request
+@RestController
+@RequestMapping("/api/inventory")
+public class BulkInventoryController {
+
+    private final BulkInventoryService bulkInventoryService;
+
+    public BulkInventoryController(BulkInventoryService bulkInventoryService) {
+        this.bulkInventoryService = bulkInventoryService;
+    }
+
+    // POST /api/inventory/bulk - add many {vaultId, comicId, quantity} lines at once
+    // 200 with per-line results; 400 with per-line results if an all-or-nothing request was not applied
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkInventoryResponse> addComics(@Valid @RequestBody BulkInventoryRequest request) {
+        BulkInventoryResponse response = bulkInventoryService.addComics(request);
+        if (request.getMode() == BulkInventoryRequest.Mode.ALL_OR_NOTHING && response.getRejectedLines() > 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,29 @@
+package com.skillstorm.comic_vault.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.skillstorm.comic_vault.dto.ActiveCapacityAlert;
+import com.skillstorm.comic_vault.service.CapacityAlertService;
+
+// controller for the active capacity alerts raised by inventory writes
+@RestController
+@RequestMapping("/api/alerts")
+public class CapacityAlertController {
+
+    private final CapacityAlertService alertService;
+
+    public CapacityAlertController(CapacityAlertService alertService) {
+        this.alertService = alertService;
+    }
+
+    // GET /api/alerts - every vault currently in WARNING or CRITICAL, critical first
+    @GetMapping
+    public ResponseEntity<List<ActiveCapacityAlert>> getActiveAlerts() {
+        return ResponseEntity.ok(alertService.getActiveAlerts());
+    }
+}
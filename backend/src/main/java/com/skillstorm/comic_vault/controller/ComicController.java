@@ -2,6 +2,8 @@ package com.skillstorm.comic_vault.controller;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,9 +13,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.skillstorm.comic_vault.dto.CollectionVersion;
 import com.skillstorm.comic_vault.model.Comic;
+import com.skillstorm.comic_vault.repository.ComicSearchResults;
 import com.skillstorm.comic_vault.service.ComicService;
 
 import jakarta.validation.Valid;
@@ -28,11 +34,46 @@ public class ComicController {
         this.comicService = comicService;
     }
 
-    // GET /api/comics - get all comics
+    // GET /api/comics - get comics, one page at a time (see PaginationHeaders)
+    // ?page=&size=&sort=          offset mode, any sort
+    // ?after=&size=&orderBy=      keyset mode (default), ordered by id or sku; omit after for the first page
+    // size is capped by spring.data.web.pageable.max-page-size
+    // conditional: If-None-Match answers 304 before the page is loaded (see ConditionalRequests)
     @GetMapping
-    public ResponseEntity<List<Comic>> getAllComics() {
-        List<Comic> comics = comicService.getAllComics();
-        return ResponseEntity.ok(comics);
+    public ResponseEntity<List<Comic>> getAllComics(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) String after, @RequestParam(defaultValue = "id") String orderBy, Pageable pageable, WebRequest request) {
+        CollectionVersion version = comicService.getCatalogVersion();
+        if (ConditionalRequests.notModified(request, version)) {
+            return ConditionalRequests.notModifiedResponse(version);
+        }
+
+        if (page != null) {
+            Slice<Comic> comics = comicService.getComicPage(pageable);
+            return ResponseEntity.ok().headers(PaginationHeaders.forPage(comics)).headers(ConditionalRequests.headers(version)).body(comics.getContent());
+        }
+
+        Slice<Comic> comics = comicService.getComicsAfter(after, orderBy, pageable.getPageSize());
+        if ("sku".equals(orderBy)) {
+            return ResponseEntity.ok().headers(PaginationHeaders.forCursor(comics, Comic::getSku)).headers(ConditionalRequests.headers(version)).body(comics.getContent());
+        }
+        return ResponseEntity.ok().headers(PaginationHeaders.forCursor(comics, Comic::getId)).headers(ConditionalRequests.headers(version)).body(comics.getContent());
+    }
+
+    // GET /api/comics/count - total number of comics
+    @GetMapping("/count")
+    public ResponseEntity<Long> countComics() {
+        return ResponseEntity.ok(comicService.countComics());
+    }
+
+    // GET /api/comics/search?q=&page=&size= - ranked search by name, description or sku
+    // the last word matches as a prefix, so this also serves typeahead
+    // X-Search-Truncated: true when the query matched too many comics to rank them all; refine it to see the rest
+    @GetMapping("/search")
+    public ResponseEntity<List<Comic>> searchComics(@RequestParam(defaultValue = "") String q, Pageable pageable) {
+        ComicSearchResults comics = comicService.searchComics(q, pageable);
+        return ResponseEntity.ok().headers(PaginationHeaders.forPage(comics))
+            .header(PaginationHeaders.SEARCH_TRUNCATED, String.valueOf(comics.isTruncated()))
+            .body(comics.getContent());
     }
 
     // GET /api/comics/{id} - get comic by ID
@@ -41,6 +82,12 @@ public class ComicController {
         return comicService.getComicById(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
+    // GET /api/comics/sku/{sku} - get comic by SKU
+    @GetMapping("/sku/{sku}")
+    public ResponseEntity<Comic> getComicBySku(@PathVariable String sku) {
+        return comicService.getComicBySku(sku).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+
     // POST /api/comics - create new comic
     @PostMapping
     public ResponseEntity<Comic> createComic(@Valid @RequestBody Comic comic) {
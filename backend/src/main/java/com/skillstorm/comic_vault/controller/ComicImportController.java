@@ -0,0 +1,63 @@
+package com.skillstorm.comic_vault.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.skillstorm.comic_vault.model.ComicImportError;
+import com.skillstorm.comic_vault.model.ComicImportJob;
+import com.skillstorm.comic_vault.model.FileFormat;
+import com.skillstorm.comic_vault.service.ComicImportService;
+
+// controller for bulk catalog imports; imports run in the background and are polled by job id
+@RestController
+@RequestMapping("/api/comics/import")
+public class ComicImportController {
+
+    private final ComicImportService importService;
+
+    public ComicImportController(ComicImportService importService) {
+        this.importService = importService;
+    }
+
+    // POST /api/comics/import?format=csv|ndjson - the file is the raw request body (not multipart)
+    // form content types are refused: the servlet container would read the body as form parameters
+    // returns 202 Accepted with the queued job as soon as the file is stored
+    @PostMapping(consumes = { "text/csv", "text/plain", "application/x-ndjson", "application/octet-stream" })
+    public ResponseEntity<ComicImportJob> startImport(@RequestParam(defaultValue = "csv") String format, InputStream body) throws IOException {
+        ComicImportJob job = importService.startImport(FileFormat.from(format), body);
+        return ResponseEntity.accepted().location(URI.create("/api/comics/import/" + job.getId())).body(job);
+    }
+
+    // GET /api/comics/import/{id} - status, progress (bytesRead of fileSize) and row counts
+    @GetMapping("/{id}")
+    public ResponseEntity<ComicImportJob> getImportJob(@PathVariable Long id) {
+        return ResponseEntity.ok(importService.getImportJob(id));
+    }
+
+    // GET /api/comics/import/{id}/errors?page=&size= - rows that could not be imported, in file order
+    @GetMapping("/{id}/errors")
+    public ResponseEntity<List<ComicImportError>> getImportErrors(@PathVariable Long id, Pageable pageable) {
+        // errors have a fixed order, only page and size are taken from the request
+        Slice<ComicImportError> errors = importService.getImportErrors(id, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        return ResponseEntity.ok().headers(PaginationHeaders.forPage(errors)).body(errors.getContent());
+    }
+
+    // POST /api/comics/import/{id}/resume - continue a FAILED import after its last committed chunk
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<ComicImportJob> resumeImport(@PathVariable Long id) {
+        return ResponseEntity.accepted().body(importService.resumeImport(id));
+    }
+}
@@ -0,0 +1,59 @@
+package com.skillstorm.comic_vault.controller;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import com.skillstorm.comic_vault.dto.CollectionVersion;
+
+/**
+ * conditional GET support for list endpoints
+ * 
+ * a list endpoint reads its CollectionVersion (one aggregate query) before the page itself; when the client's
+ * If-None-Match matches, it answers 304 without loading or serializing anything. the version is read first,
+ * so a change racing with the page query can only make the ETag older than the body, never newer.
+ * 
+ * ETag       - per collection version and request parameters (page, cursor, size, order)
+ * Last-Modified - newest updatedAt of the collection; informational only, since a delete doesn't move it,
+ *               If-Modified-Since is not used to answer 304
+ * Cache-Control: no-cache - browsers keep the response but revalidate it on every request
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    // true if the client already has this version of the listing; the response then carries the ETag and a 304
+    static boolean notModified(WebRequest request, CollectionVersion version) {
+        return request.checkNotModified(version.eTag(parameters(request)));
+    }
+
+    // the 304 response, with the same validators as the full one
+    static <T> ResponseEntity<T> notModifiedResponse(CollectionVersion version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers(version)).build();
+    }
+
+    // Last-Modified and Cache-Control for the full response; checkNotModified has already set the ETag
+    static HttpHeaders headers(CollectionVersion version) {
+        HttpHeaders headers = new HttpHeaders();
+        if (version.getLastModified() != null) {
+            headers.setLastModified(version.lastModifiedMillis());
+        }
+        headers.setCacheControl(CacheControl.noCache());
+        return headers;
+    }
+
+    // request parameters in a stable order, so ?size=50&after=9 and ?after=9&size=50 share an ETag
+    private static String parameters(WebRequest request) {
+        StringBuilder parameters = new StringBuilder();
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            parameters.append(parameter.getKey()).append('=').append(String.join(",", parameter.getValue())).append('&');
+        }
+        return parameters.toString();
+    }
+}
@@ -0,0 +1,51 @@
+package com.skillstorm.comic_vault.controller;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.skillstorm.comic_vault.model.FileFormat;
+import com.skillstorm.comic_vault.service.ExportService;
+
+// controller for full data exports (e.g. for auditors), streamed as file downloads
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    // GET /api/export/comics?format=csv|ndjson&gzip=true - the whole comic catalog
+    @GetMapping("/comics")
+    public ResponseEntity<StreamingResponseBody> exportComics(@RequestParam(defaultValue = "csv") String format, @RequestParam(defaultValue = "false") boolean gzip) {
+        FileFormat exportFormat = FileFormat.from(format);
+        return download("comics", exportFormat, gzip, exportService.exportComics(exportFormat, gzip));
+    }
+
+    // GET /api/export/inventory?format=csv|ndjson&gzip=true&vaultId= - every vault's inventory, or one vault's
+    @GetMapping("/inventory")
+    public ResponseEntity<StreamingResponseBody> exportInventory(@RequestParam(required = false) Long vaultId,
+            @RequestParam(defaultValue = "csv") String format, @RequestParam(defaultValue = "false") boolean gzip) {
+        FileFormat exportFormat = FileFormat.from(format);
+        String name = vaultId == null ? "inventory" : "vault-" + vaultId + "-inventory";
+        return download(name, exportFormat, gzip, exportService.exportInventory(vaultId, exportFormat, gzip));
+    }
+
+    // gzipped exports are served as a .gz file rather than with Content-Encoding, so they stay compressed on disk
+    private ResponseEntity<StreamingResponseBody> download(String name, FileFormat format, boolean gzip, StreamingResponseBody body) {
+        String filename = name + "." + format.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+            .contentType(gzip ? new MediaType("application", "gzip") : format.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
+    }
+}
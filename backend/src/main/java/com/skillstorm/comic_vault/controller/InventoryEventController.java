@@ -0,0 +1,29 @@
+package com.skillstorm.comic_vault.controller;
+
+import java.io.IOException;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.skillstorm.comic_vault.service.InventoryEventBroadcaster;
+
+// controller for the live change stream; lets dashboards patch their cached data instead of polling
+@RestController
+@RequestMapping("/api/events")
+public class InventoryEventController {
+
+    private final InventoryEventBroadcaster broadcaster;
+
+    public InventoryEventController(InventoryEventBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    // GET /api/events - Server-Sent Events, one JSON InventoryEvent per message
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() throws IOException {
+        return broadcaster.subscribe();
+    }
+}
@@ -0,0 +1,65 @@
+package com.skillstorm.comic_vault.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.skillstorm.comic_vault.dto.InventoryHoldRequest;
+import com.skillstorm.comic_vault.model.InventoryHold;
+import com.skillstorm.comic_vault.service.IdempotencyService;
+import com.skillstorm.comic_vault.service.InventoryHoldService;
+
+import jakarta.validation.Valid;
+
+// controller for holds: stock and capacity set aside for a transfer that is committed later
+@RestController
+@RequestMapping("/api/inventory/holds")
+public class InventoryHoldController {
+
+    private final InventoryHoldService holdService;
+    private final IdempotencyService idempotencyService;
+
+    public InventoryHoldController(InventoryHoldService holdService, IdempotencyService idempotencyService) {
+        this.holdService = holdService;
+        this.idempotencyService = idempotencyService;
+    }
+
+    // GET /api/inventory/holds/{id} - a hold and its status
+    @GetMapping("/{id}")
+    public ResponseEntity<InventoryHold> getHold(@PathVariable Long id) {
+        return ResponseEntity.ok(holdService.getHold(id));
+    }
+
+    // POST /api/inventory/holds - hold source quantity and destination capacity for a transfer until it expires
+    @PostMapping
+    public ResponseEntity<InventoryHold> createHold(@Valid @RequestBody InventoryHoldRequest request,
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/inventory/holds", request, () -> {
+            InventoryHold hold = holdService.createHold(request.getSourceVaultId(), request.getDestinationVaultId(), request.getComicId(),
+                request.getQuantity(), request.getTtl());
+            return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+        });
+    }
+
+    // POST /api/inventory/holds/{id}/commit - apply the hold as a transfer
+    @PostMapping("/{id}/commit")
+    public ResponseEntity<InventoryHold> commitHold(@PathVariable Long id,
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/inventory/holds/" + id + "/commit", null,
+            () -> ResponseEntity.ok(holdService.commitHold(id)));
+    }
+
+    // DELETE /api/inventory/holds/{id} - release the hold without transferring
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> releaseHold(@PathVariable Long id) {
+        holdService.releaseHold(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.skillstorm.comic_vault.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.skillstorm.comic_vault.dto.PlacementRequest;
+import com.skillstorm.comic_vault.dto.PlacementResponse;
+import com.skillstorm.comic_vault.service.IdempotencyService;
+import com.skillstorm.comic_vault.service.PlacementService;
+
+import jakarta.validation.Valid;
+
+// controller for placing incoming stock: proposes the destination vaults for a shipment
+@RestController
+@RequestMapping("/api/inventory")
+public class InventoryPlacementController {
+
+    private final PlacementService placementService;
+    private final IdempotencyService idempotencyService;
+
+    public InventoryPlacementController(PlacementService placementService, IdempotencyService idempotencyService) {
+        this.placementService = placementService;
+        this.idempotencyService = idempotencyService;
+    }
+
+    // POST /api/inventory/placements - allocate {comicId, quantity} lines across vaults
+    // only returns the plan unless commit is true; a committing request takes an Idempotency-Key like the other mutations
+    @PostMapping("/placements")
+    public ResponseEntity<PlacementResponse> place(@Valid @RequestBody PlacementRequest request,
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        if (!request.isCommit()) {
+            return ResponseEntity.ok(placementService.plan(request.getLines(), request.isGroupByLocation()));
+        }
+        return idempotencyService.execute(idempotencyKey, "POST /api/inventory/placements", request, () -> {
+            PlacementResponse plan = placementService.plan(request.getLines(), request.isGroupByLocation());
+            return ResponseEntity.ok(placementService.commit(plan));
+        });
+    }
+}
@@ -3,10 +3,14 @@ package com.skillstorm.comic_vault.controller;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.skillstorm.comic_vault.dto.TransferOrderRequest;
 import com.skillstorm.comic_vault.dto.TransferRequest;
+import com.skillstorm.comic_vault.service.IdempotencyService;
+import com.skillstorm.comic_vault.service.TransferOrderService;
 import com.skillstorm.comic_vault.service.VaultInventoryService;
 
 import jakarta.validation.Valid;
@@ -17,20 +21,39 @@ import jakarta.validation.Valid;
 public class InventoryTransferController {
 
     private final VaultInventoryService vaultInventoryService;
+    private final TransferOrderService transferOrderService;
+    private final IdempotencyService idempotencyService;
 
-    public InventoryTransferController(VaultInventoryService vaultInventoryService) {
+    public InventoryTransferController(VaultInventoryService vaultInventoryService, TransferOrderService transferOrderService,
+            IdempotencyService idempotencyService) {
         this.vaultInventoryService = vaultInventoryService;
+        this.transferOrderService = transferOrderService;
+        this.idempotencyService = idempotencyService;
     }
 
     // POST /api/inventory/transfer - transfer comic between vaults
+    // a retry carrying the same Idempotency-Key header is answered without transferring again
     @PostMapping("/transfer")
-    public ResponseEntity<Void> transferComic(@Valid @RequestBody TransferRequest request) {
-        vaultInventoryService.transferComicBetweenVaults(
-            request.getSourceVaultId(),
-            request.getDestinationVaultId(),
-            request.getComicId(),
-            request.getQuantity()
-        );
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Void> transferComic(@Valid @RequestBody TransferRequest request,
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/inventory/transfer", request, () -> {
+            vaultInventoryService.transferComicBetweenVaults(
+                request.getSourceVaultId(),
+                request.getDestinationVaultId(),
+                request.getComicId(),
+                request.getQuantity()
+            );
+            return ResponseEntity.ok().<Void>build();
+        });
     }
-}
\ No newline at end of file
+
+    // POST /api/inventory/transfer-orders - apply many transfer lines in one transaction (all or nothing)
+    @PostMapping("/transfer-orders")
+    public ResponseEntity<Void> transferOrder(@Valid @RequestBody TransferOrderRequest request,
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/inventory/transfer-orders", request, () -> {
+            transferOrderService.transfer(request.getLines());
+            return ResponseEntity.ok().<Void>build();
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package com.skillstorm.comic_vault.controller;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * builds the response headers for paginated list endpoints
+ * 
+ * list endpoints keep returning a plain JSON array; paging state travels in headers:
+ * X-Has-Next      - true if another page exists
+ * X-Next-Cursor   - keyset mode only; pass back as ?after= to get the next page
+ * X-Page          - offset mode only; the zero-based page number returned
+ * X-Page-Size     - the page size actually used (after the server-side maximum is applied)
+ * X-Search-Truncated - search only; true when not every match was ranked (see ComicSearchResults)
+ */
+final class PaginationHeaders {
+
+    static final String HAS_NEXT = "X-Has-Next";
+    static final String NEXT_CURSOR = "X-Next-Cursor";
+    static final String PAGE = "X-Page";
+    static final String PAGE_SIZE = "X-Page-Size";
+    static final String SEARCH_TRUNCATED = "X-Search-Truncated";
+
+    private PaginationHeaders() {
+    }
+
+    // headers for a page fetched by page number
+    static HttpHeaders forPage(Slice<?> slice) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HAS_NEXT, String.valueOf(slice.hasNext()));
+        headers.add(PAGE, String.valueOf(slice.getNumber()));
+        headers.add(PAGE_SIZE, String.valueOf(slice.getSize()));
+        return headers;
+    }
+
+    // headers for a page fetched by cursor; cursorKey extracts the ordering key from the last row
+    static <T> HttpHeaders forCursor(Slice<T> slice, Function<T, ?> cursorKey) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HAS_NEXT, String.valueOf(slice.hasNext()));
+        headers.add(PAGE_SIZE, String.valueOf(slice.getSize()));
+        if (slice.hasNext() && slice.hasContent()) {
+            List<T> content = slice.getContent();
+            headers.add(NEXT_CURSOR, String.valueOf(cursorKey.apply(content.get(content.size() - 1))));
+        }
+        return headers;
+    }
+}
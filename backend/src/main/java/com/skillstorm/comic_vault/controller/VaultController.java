@@ -2,6 +2,8 @@ package com.skillstorm.comic_vault.controller;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,8 +13,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.skillstorm.comic_vault.dto.CollectionVersion;
+import com.skillstorm.comic_vault.dto.VaultSummary;
 import com.skillstorm.comic_vault.model.Vault;
 import com.skillstorm.comic_vault.service.VaultService;
 
@@ -29,11 +35,33 @@ public class VaultController {
         this.vaultService = vaultService;
     }
 
-    // GET /api/vaults - get all vaults
+    // GET /api/vaults - get vaults, one page at a time (see PaginationHeaders)
+    // ?page=&size=&sort=      offset mode, any sort
+    // ?after=&size=           keyset mode (default), ordered by id; omit after for the first page
+    // conditional: If-None-Match answers 304 before the page is loaded (see ConditionalRequests)
     @GetMapping
-    public ResponseEntity<List<Vault>> getAllValues() {
-        List<Vault> vaults = vaultService.getAllVaults();
-        return ResponseEntity.ok(vaults);
+    public ResponseEntity<List<Vault>> getAllValues(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Long after, Pageable pageable, WebRequest request) {
+        CollectionVersion version = vaultService.getVaultsVersion();
+        if (ConditionalRequests.notModified(request, version)) {
+            return ConditionalRequests.notModifiedResponse(version);
+        }
+
+        if (page != null) {
+            Slice<Vault> vaults = vaultService.getVaultPage(pageable);
+            return ResponseEntity.ok().headers(PaginationHeaders.forPage(vaults)).headers(ConditionalRequests.headers(version)).body(vaults.getContent());
+        }
+
+        Slice<Vault> vaults = vaultService.getVaultsAfter(after, pageable.getPageSize());
+        return ResponseEntity.ok().headers(PaginationHeaders.forCursor(vaults, Vault::getId)).headers(ConditionalRequests.headers(version)).body(vaults.getContent());
+    }
+
+    // GET /api/vaults/summary - capacity overview of every vault for the dashboard
+    // literal path takes precedence over /{id}
+    @GetMapping("/summary")
+    public ResponseEntity<List<VaultSummary>> getVaultSummaries() {
+        List<VaultSummary> summaries = vaultService.getVaultSummaries();
+        return ResponseEntity.ok(summaries);
     }
 
     // GET /api/vaults/{id} - get vault by ID
@@ -1,7 +1,12 @@
 package com.skillstorm.comic_vault.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,12 +15,20 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.skillstorm.comic_vault.dto.AddComicRequest;
+import com.skillstorm.comic_vault.dto.CollectionVersion;
+import com.skillstorm.comic_vault.dto.InventoryHistoryResponse;
 import com.skillstorm.comic_vault.dto.UpdateQuantityRequest;
-import com.skillstorm.comic_vault.model.VaultInventory;
+import com.skillstorm.comic_vault.dto.VaultInventoryItem;
+import com.skillstorm.comic_vault.model.InventoryMovement;
+import com.skillstorm.comic_vault.service.IdempotencyService;
+import com.skillstorm.comic_vault.service.InventoryHistoryService;
 import com.skillstorm.comic_vault.service.VaultInventoryService;
 
 import jakarta.validation.Valid;
@@ -25,42 +38,90 @@ import jakarta.validation.Valid;
 public class VaultInventoryController {
     
     private final VaultInventoryService vaultInventoryService; 
+    private final InventoryHistoryService inventoryHistoryService;
+    private final IdempotencyService idempotencyService;
 
-    public VaultInventoryController(VaultInventoryService vaultInventoryService) {
+    public VaultInventoryController(VaultInventoryService vaultInventoryService, InventoryHistoryService inventoryHistoryService,
+            IdempotencyService idempotencyService) {
         this.vaultInventoryService = vaultInventoryService;
+        this.inventoryHistoryService = inventoryHistoryService;
+        this.idempotencyService = idempotencyService;
     }
 
-    // GET /api/vaults/{vaultId}/inventory - get all inventory records for a vault
+    // GET /api/vaults/{vaultId}/inventory - get inventory records for a vault, one page at a time (see PaginationHeaders)
+    // ?page=&size=&sort=          offset mode, any sort
+    // ?after=&size=&orderBy=      keyset mode (default), ordered by inventory id or comic sku
+    // conditional: If-None-Match answers 304 before the page is loaded (see ConditionalRequests)
     @GetMapping
-    public ResponseEntity<List<VaultInventory>> getVaultInventory(@PathVariable Long vaultId) {
-        List<VaultInventory> inventory = vaultInventoryService.getVaultInventory(vaultId);
-        return ResponseEntity.ok(inventory);
+    public ResponseEntity<List<VaultInventoryItem>> getVaultInventory(@PathVariable Long vaultId, @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) String after, @RequestParam(defaultValue = "id") String orderBy, Pageable pageable, WebRequest request) {
+        CollectionVersion version = vaultInventoryService.getInventoryVersion(vaultId);
+        if (ConditionalRequests.notModified(request, version)) {
+            return ConditionalRequests.notModifiedResponse(version);
+        }
+
+        if (page != null) {
+            Slice<VaultInventoryItem> inventory = vaultInventoryService.getVaultInventoryPage(vaultId, pageable);
+            return ResponseEntity.ok().headers(PaginationHeaders.forPage(inventory)).headers(ConditionalRequests.headers(version)).body(inventory.getContent());
+        }
+
+        Slice<VaultInventoryItem> inventory = vaultInventoryService.getVaultInventoryAfter(vaultId, after, orderBy, pageable.getPageSize());
+        if ("sku".equals(orderBy)) {
+            return ResponseEntity.ok().headers(PaginationHeaders.forCursor(inventory, VaultInventoryItem::getSku)).headers(ConditionalRequests.headers(version)).body(inventory.getContent());
+        }
+        return ResponseEntity.ok().headers(PaginationHeaders.forCursor(inventory, VaultInventoryItem::getId)).headers(ConditionalRequests.headers(version)).body(inventory.getContent());
+    }
+
+    // GET /api/vaults/{vaultId}/inventory/history?at=2026-01-06T17:00:00 - the vault's inventory at a point in time
+    // without at: the current inventory, derived from the ledger
+    @GetMapping("/history")
+    public ResponseEntity<InventoryHistoryResponse> getInventoryAt(@PathVariable Long vaultId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(inventoryHistoryService.getInventoryAt(vaultId, at != null ? at : LocalDateTime.now()));
+    }
+
+    // GET /api/vaults/{vaultId}/inventory/movements?page=&size= - the vault's movement ledger, newest first
+    @GetMapping("/movements")
+    public ResponseEntity<List<InventoryMovement>> getMovements(@PathVariable Long vaultId, Pageable pageable) {
+        // the ledger has a fixed order, only page and size are taken from the request
+        Slice<InventoryMovement> movements = inventoryHistoryService.getMovements(vaultId, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        return ResponseEntity.ok().headers(PaginationHeaders.forPage(movements)).body(movements.getContent());
     }
 
     // GET /api/vaults/{vaultId}/inventory/{comicId} - Get specific inventory item
     @GetMapping("/{comicId}")
-    public ResponseEntity<VaultInventory> getInventoryItem(@PathVariable Long vaultId, @PathVariable Long comicId) {
+    public ResponseEntity<VaultInventoryItem> getInventoryItem(@PathVariable Long vaultId, @PathVariable Long comicId) {
         return vaultInventoryService.getInventoryItem(vaultId, comicId).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
     // POST /api/vaults/{vaultId}/inventory - add comic to vault
+    // mutations take an optional Idempotency-Key header; a retry with the same key returns the first response (see IdempotencyService)
     @PostMapping
-    public ResponseEntity<VaultInventory> addComicToVault(@PathVariable Long vaultId, @Valid @RequestBody AddComicRequest request) {
-        VaultInventory inventory = vaultInventoryService.addComicToVault(vaultId, request.getComicId(), request.getQuantity());
-        return ResponseEntity.status(HttpStatus.CREATED).body(inventory);
+    public ResponseEntity<VaultInventoryItem> addComicToVault(@PathVariable Long vaultId, @Valid @RequestBody AddComicRequest request,
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /api/vaults/" + vaultId + "/inventory", request, () -> {
+            VaultInventoryItem inventory = vaultInventoryService.addComicToVault(vaultId, request.getComicId(), request.getQuantity());
+            return ResponseEntity.status(HttpStatus.CREATED).body(inventory);
+        });
     }
 
     // PUT /api/vaults/{vaultId}/inventory/{comicId} - update quantity
     @PutMapping("/{comicId}")
-    public ResponseEntity<VaultInventory> updateQuantity(@PathVariable Long vaultId, @PathVariable Long comicId, @Valid @RequestBody UpdateQuantityRequest request) {
-        VaultInventory inventory = vaultInventoryService.updateQuantity(vaultId, comicId, request.getQuantity());
-        return ResponseEntity.ok(inventory);
+    public ResponseEntity<VaultInventoryItem> updateQuantity(@PathVariable Long vaultId, @PathVariable Long comicId, @Valid @RequestBody UpdateQuantityRequest request,
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "PUT /api/vaults/" + vaultId + "/inventory/" + comicId, request, () -> {
+            VaultInventoryItem inventory = vaultInventoryService.updateQuantity(vaultId, comicId, request.getQuantity());
+            return ResponseEntity.ok(inventory);
+        });
     }
 
     // DELETE /api/vaults/{vaultId}/inventory/{comicId} - remove comic from vault
     @DeleteMapping("/{comicId}")
-    public ResponseEntity<Void> removeFromVault(@PathVariable Long vaultId, @PathVariable Long comicId) {
-        vaultInventoryService.removeFromVault(vaultId, comicId);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Void> removeFromVault(@PathVariable Long vaultId, @PathVariable Long comicId,
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "DELETE /api/vaults/" + vaultId + "/inventory/" + comicId, null, () -> {
+            vaultInventoryService.removeFromVault(vaultId, comicId);
+            return ResponseEntity.noContent().<Void>build();
+        });
     }
 }
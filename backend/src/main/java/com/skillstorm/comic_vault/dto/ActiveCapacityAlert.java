@@ -0,0 +1,114 @@
+package com.skillstorm.comic_vault.dto;
+
+import java.time.LocalDateTime;
+
+import com.skillstorm.comic_vault.model.CapacityAlert;
+
+/**
+ * DTO for one active capacity alert with its vault's current occupancy
+ * 
+ * built directly by CapacityAlertRepository.findAllActive from the alert table; nothing is evaluated on read
+ */
+public class ActiveCapacityAlert {
+
+    private Long vaultId;
+    private String vaultName;
+    private CapacityAlert.Level level;
+    private int threshold;
+    private Integer currentTotal;
+    private Integer maxCapacity;
+    private Double percentage;
+    private LocalDateTime raisedAt;
+    private LocalDateTime updatedAt;
+
+    // default constructor
+    public ActiveCapacityAlert() {
+    }
+
+    // used by the JPQL constructor expression
+    public ActiveCapacityAlert(Long vaultId, String vaultName, CapacityAlert.Level level, int threshold, Integer currentTotal, Integer maxCapacity,
+            LocalDateTime raisedAt, LocalDateTime updatedAt) {
+        this.vaultId = vaultId;
+        this.vaultName = vaultName;
+        this.level = level;
+        this.threshold = threshold;
+        this.currentTotal = currentTotal;
+        this.maxCapacity = maxCapacity;
+        this.percentage = maxCapacity == null || maxCapacity == 0 ? 0.0 : currentTotal * 100.0 / maxCapacity;
+        this.raisedAt = raisedAt;
+        this.updatedAt = updatedAt;
+    }
+
+    // getters and setters
+    public Long getVaultId() {
+        return vaultId;
+    }
+
+    public void setVaultId(Long vaultId) {
+        this.vaultId = vaultId;
+    }
+
+    public String getVaultName() {
+        return vaultName;
+    }
+
+    public void setVaultName(String vaultName) {
+        this.vaultName = vaultName;
+    }
+
+    public CapacityAlert.Level getLevel() {
+        return level;
+    }
+
+    public void setLevel(CapacityAlert.Level level) {
+        this.level = level;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(int threshold) {
+        this.threshold = threshold;
+    }
+
+    public Integer getCurrentTotal() {
+        return currentTotal;
+    }
+
+    public void setCurrentTotal(Integer currentTotal) {
+        this.currentTotal = currentTotal;
+    }
+
+    public Integer getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    public void setMaxCapacity(Integer maxCapacity) {
+        this.maxCapacity = maxCapacity;
+    }
+
+    public Double getPercentage() {
+        return percentage;
+    }
+
+    public void setPercentage(Double percentage) {
+        this.percentage = percentage;
+    }
+
+    public LocalDateTime getRaisedAt() {
+        return raisedAt;
+    }
+
+    public void setRaisedAt(LocalDateTime raisedAt) {
+        this.raisedAt = raisedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,54 @@
+package com.skillstorm.comic_vault.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+// DTO for one line of a bulk inventory request: add quantity of a comic to a vault
+public class BulkInventoryLine {
+
+    @NotNull(message = "Vault ID is required")
+    private Long vaultId;
+
+    @NotNull(message = "Comic ID is required")
+    private Long comicId;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+
+    // default constructor
+    public BulkInventoryLine() {
+    }
+
+    // full constructor
+    public BulkInventoryLine(Long vaultId, Long comicId, Integer quantity) {
+        this.vaultId = vaultId;
+        this.comicId = comicId;
+        this.quantity = quantity;
+    }
+
+    // getters and setters
+    public Long getVaultId() {
+        return vaultId;
+    }
+
+    public void setVaultId(Long vaultId) {
+        this.vaultId = vaultId;
+    }
+
+    public Long getComicId() {
+        return comicId;
+    }
+
+    public void setComicId(Long comicId) {
+        this.comicId = comicId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
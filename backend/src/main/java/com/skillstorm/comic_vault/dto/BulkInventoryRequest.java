@@ -0,0 +1,56 @@
+package com.skillstorm.comic_vault.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO used to add many comics to one or more vaults in a single request (e.g. receiving a shipment)
+ * 
+ * ALL_OR_NOTHING - every line is applied, or none are if any line fails
+ * BEST_EFFORT    - valid lines that fit are applied, the rest are reported as rejected
+ */
+public class BulkInventoryRequest {
+
+    public enum Mode {
+        ALL_OR_NOTHING,
+        BEST_EFFORT
+    }
+
+    @NotNull(message = "Mode is required")
+    private Mode mode = Mode.ALL_OR_NOTHING;
+
+    @NotEmpty(message = "At least one line is required")
+    @Size(max = 10000, message = "A bulk request cannot exceed 10000 lines")
+    private List<@Valid BulkInventoryLine> lines;
+
+    // default constructor
+    public BulkInventoryRequest() {
+    }
+
+    // full constructor
+    public BulkInventoryRequest(Mode mode, List<BulkInventoryLine> lines) {
+        this.mode = mode;
+        this.lines = lines;
+    }
+
+    // getters and setters
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public List<BulkInventoryLine> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<BulkInventoryLine> lines) {
+        this.lines = lines;
+    }
+}
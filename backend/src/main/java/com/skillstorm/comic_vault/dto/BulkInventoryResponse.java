@@ -0,0 +1,67 @@
+package com.skillstorm.comic_vault.dto;
+
+import java.util.List;
+
+// DTO for the outcome of a bulk inventory request
+public class BulkInventoryResponse {
+
+    private BulkInventoryRequest.Mode mode;
+    private int appliedLines;
+    private int rejectedLines;
+    private String message;
+    private List<BulkLineResult> lines;
+
+    // default constructor
+    public BulkInventoryResponse() {
+    }
+
+    // full constructor
+    public BulkInventoryResponse(BulkInventoryRequest.Mode mode, int appliedLines, int rejectedLines, String message, List<BulkLineResult> lines) {
+        this.mode = mode;
+        this.appliedLines = appliedLines;
+        this.rejectedLines = rejectedLines;
+        this.message = message;
+        this.lines = lines;
+    }
+
+    // getters and setters
+    public BulkInventoryRequest.Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(BulkInventoryRequest.Mode mode) {
+        this.mode = mode;
+    }
+
+    public int getAppliedLines() {
+        return appliedLines;
+    }
+
+    public void setAppliedLines(int appliedLines) {
+        this.appliedLines = appliedLines;
+    }
+
+    public int getRejectedLines() {
+        return rejectedLines;
+    }
+
+    public void setRejectedLines(int rejectedLines) {
+        this.rejectedLines = rejectedLines;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public List<BulkLineResult> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<BulkLineResult> lines) {
+        this.lines = lines;
+    }
+}
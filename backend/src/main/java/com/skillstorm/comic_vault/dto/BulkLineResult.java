@@ -0,0 +1,52 @@
+package com.skillstorm.comic_vault.dto;
+
+// DTO reporting what happened to one line of a bulk request, in request order
+public class BulkLineResult {
+
+    public enum Status {
+        APPLIED,
+        REJECTED,
+        // valid, but not applied because another line failed an all-or-nothing request
+        NOT_APPLIED
+    }
+
+    private int index;
+    private Status status;
+    private String message;
+
+    // default constructor
+    public BulkLineResult() {
+    }
+
+    // full constructor
+    public BulkLineResult(int index, Status status, String message) {
+        this.index = index;
+        this.status = status;
+        this.message = message;
+    }
+
+    // getters and setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,60 @@
+package com.skillstorm.comic_vault.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.springframework.util.DigestUtils;
+
+/**
+ * DTO for the version of a listed collection: its row count and newest updatedAt
+ * 
+ * built by an aggregate JPQL query, so no entities are loaded. every insert and update bumps updatedAt and
+ * every delete changes the count, so any change to the collection gives a different ETag
+ */
+public class CollectionVersion {
+
+    private long count;
+    private LocalDateTime lastModified;
+
+    // default constructor
+    public CollectionVersion() {
+    }
+
+    // used by the JPQL constructor expressions; lastModified is null for an empty collection
+    public CollectionVersion(Long count, LocalDateTime lastModified) {
+        this.count = count;
+        this.lastModified = lastModified;
+    }
+
+    // for listings that embed rows of a second table (inventory rows carry their comic's fields)
+    public CollectionVersion(Long count, LocalDateTime lastModified, LocalDateTime joinedLastModified) {
+        this(count, joinedLastModified == null || (lastModified != null && lastModified.isAfter(joinedLastModified)) ? lastModified : joinedLastModified);
+    }
+
+    // strong ETag for one view of the collection; variant tells apart the pages and orderings of one listing
+    public String eTag(String variant) {
+        return "\"" + DigestUtils.md5DigestAsHex((count + "|" + lastModified + "|" + variant).getBytes()) + "\"";
+    }
+
+    // lastModified as epoch millis, -1 for an empty collection
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // getters and setters
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(LocalDateTime lastModified) {
+        this.lastModified = lastModified;
+    }
+}
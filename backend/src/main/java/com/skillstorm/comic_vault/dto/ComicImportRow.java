@@ -0,0 +1,60 @@
+package com.skillstorm.comic_vault.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// DTO for one record of a catalog import file (a CSV row or an NDJSON line)
+// everything is read as text so a bad value becomes a row error instead of failing the whole file;
+// extra columns/properties (e.g. id, createdAt from an export) are ignored
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ComicImportRow {
+
+    private String sku;
+    private String name;
+    private String description;
+    private String price;
+
+    // default constructor
+    public ComicImportRow() {
+    }
+
+    // full constructor
+    public ComicImportRow(String sku, String name, String description, String price) {
+        this.sku = sku;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+    }
+
+    // getters and setters
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getPrice() {
+        return price;
+    }
+
+    public void setPrice(String price) {
+        this.price = price;
+    }
+}
@@ -0,0 +1,143 @@
+package com.skillstorm.comic_vault.dto;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.skillstorm.comic_vault.model.CapacityAlert;
+import com.skillstorm.comic_vault.model.InventoryMovement;
+
+/**
+ * DTO for one change pushed to /api/events subscribers
+ * 
+ * only the fields of the event's type are set, the rest are left out of the JSON. every event that
+ * changes a vault's occupancy carries its new currentTotal and maxCapacity, so a client can patch its
+ * cached vault without refetching it
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InventoryEvent {
+
+    public enum Type {
+        INVENTORY,          // one comic's quantity in a vault changed (add, update, remove, one side of a transfer)
+        INVENTORY_BATCH,    // many rows of a vault changed at once (bulk add, transfer order); reload its inventory
+        CAPACITY,           // a vault's capacity alert level changed (raised, escalated or cleared)
+        VAULT,              // a vault was created or edited
+        VAULT_DELETED,
+        RESYNC              // events were dropped for this subscriber; refetch everything
+    }
+
+    private long id;
+    private Type type;
+    private Long vaultId;
+    private Long comicId;
+    private Integer quantityDelta;
+    // the comic's quantity in the vault after the change; 0 once removed
+    private Integer quantity;
+    private InventoryMovement.Reason reason;
+    // shared by both sides of a transfer
+    private UUID transferId;
+    private Integer currentTotal;
+    private Integer maxCapacity;
+    // CAPACITY: the new alert level and the threshold percentage it was raised at
+    private CapacityAlert.Level level;
+    private Integer threshold;
+
+    // default constructor
+    public InventoryEvent() {
+    }
+
+    private InventoryEvent(Type type, Long vaultId, Integer currentTotal, Integer maxCapacity) {
+        this.type = type;
+        this.vaultId = vaultId;
+        this.currentTotal = currentTotal;
+        this.maxCapacity = maxCapacity;
+    }
+
+    public static InventoryEvent inventory(Long vaultId, Long comicId, int quantityDelta, int quantity, InventoryMovement.Reason reason,
+            UUID transferId, int currentTotal, int maxCapacity) {
+        InventoryEvent event = new InventoryEvent(Type.INVENTORY, vaultId, currentTotal, maxCapacity);
+        event.comicId = comicId;
+        event.quantityDelta = quantityDelta;
+        event.quantity = quantity;
+        event.reason = reason;
+        event.transferId = transferId;
+        return event;
+    }
+
+    public static InventoryEvent inventoryBatch(Long vaultId, int quantityDelta, int currentTotal, int maxCapacity) {
+        InventoryEvent event = new InventoryEvent(Type.INVENTORY_BATCH, vaultId, currentTotal, maxCapacity);
+        event.quantityDelta = quantityDelta;
+        return event;
+    }
+
+    public static InventoryEvent capacity(Long vaultId, CapacityAlert.Level level, int threshold, int currentTotal, int maxCapacity) {
+        InventoryEvent event = new InventoryEvent(Type.CAPACITY, vaultId, currentTotal, maxCapacity);
+        event.level = level;
+        event.threshold = threshold;
+        return event;
+    }
+
+    public static InventoryEvent vault(Long vaultId, int currentTotal, int maxCapacity) {
+        return new InventoryEvent(Type.VAULT, vaultId, currentTotal, maxCapacity);
+    }
+
+    public static InventoryEvent vaultDeleted(Long vaultId) {
+        return new InventoryEvent(Type.VAULT_DELETED, vaultId, null, null);
+    }
+
+    public static InventoryEvent resync() {
+        return new InventoryEvent(Type.RESYNC, null, null, null);
+    }
+
+    // getters; id is assigned by InventoryEventPublisher and doubles as the SSE event id
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getVaultId() {
+        return vaultId;
+    }
+
+    public Long getComicId() {
+        return comicId;
+    }
+
+    public Integer getQuantityDelta() {
+        return quantityDelta;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public InventoryMovement.Reason getReason() {
+        return reason;
+    }
+
+    public UUID getTransferId() {
+        return transferId;
+    }
+
+    public Integer getCurrentTotal() {
+        return currentTotal;
+    }
+
+    public Integer getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    public CapacityAlert.Level getLevel() {
+        return level;
+    }
+
+    public Integer getThreshold() {
+        return threshold;
+    }
+}
@@ -0,0 +1,90 @@
+package com.skillstorm.comic_vault.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+// DTO for one comic held in one vault in an inventory export; property order = CSV column order
+@JsonPropertyOrder({ "vaultId", "vaultName", "comicId", "sku", "name", "quantity", "updatedAt" })
+public class InventoryExportRow {
+
+    private Long vaultId;
+    private String vaultName;
+    private Long comicId;
+    private String sku;
+    private String name;
+    private Integer quantity;
+    private LocalDateTime updatedAt;
+
+    // default constructor
+    public InventoryExportRow() {
+    }
+
+    // used by the JPQL constructor expression
+    public InventoryExportRow(Long vaultId, String vaultName, Long comicId, String sku, String name, Integer quantity, LocalDateTime updatedAt) {
+        this.vaultId = vaultId;
+        this.vaultName = vaultName;
+        this.comicId = comicId;
+        this.sku = sku;
+        this.name = name;
+        this.quantity = quantity;
+        this.updatedAt = updatedAt;
+    }
+
+    // getters and setters
+    public Long getVaultId() {
+        return vaultId;
+    }
+
+    public void setVaultId(Long vaultId) {
+        this.vaultId = vaultId;
+    }
+
+    public String getVaultName() {
+        return vaultName;
+    }
+
+    public void setVaultName(String vaultName) {
+        this.vaultName = vaultName;
+    }
+
+    public Long getComicId() {
+        return comicId;
+    }
+
+    public void setComicId(Long comicId) {
+        this.comicId = comicId;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
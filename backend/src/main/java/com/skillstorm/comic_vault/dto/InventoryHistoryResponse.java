@@ -0,0 +1,59 @@
+package com.skillstorm.comic_vault.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// DTO for a vault's inventory as of a point in time
+// snapshotTakenAt is the snapshot the answer was built from; movements after it up to asOf were replayed on top
+public class InventoryHistoryResponse {
+
+    private Long vaultId;
+    private LocalDateTime asOf;
+    private LocalDateTime snapshotTakenAt;
+    private List<InventoryPosition> items;
+
+    // default constructor
+    public InventoryHistoryResponse() {
+    }
+
+    // full constructor
+    public InventoryHistoryResponse(Long vaultId, LocalDateTime asOf, LocalDateTime snapshotTakenAt, List<InventoryPosition> items) {
+        this.vaultId = vaultId;
+        this.asOf = asOf;
+        this.snapshotTakenAt = snapshotTakenAt;
+        this.items = items;
+    }
+
+    // getters and setters
+    public Long getVaultId() {
+        return vaultId;
+    }
+
+    public void setVaultId(Long vaultId) {
+        this.vaultId = vaultId;
+    }
+
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDateTime asOf) {
+        this.asOf = asOf;
+    }
+
+    public LocalDateTime getSnapshotTakenAt() {
+        return snapshotTakenAt;
+    }
+
+    public void setSnapshotTakenAt(LocalDateTime snapshotTakenAt) {
+        this.snapshotTakenAt = snapshotTakenAt;
+    }
+
+    public List<InventoryPosition> getItems() {
+        return items;
+    }
+
+    public void setItems(List<InventoryPosition> items) {
+        this.items = items;
+    }
+}
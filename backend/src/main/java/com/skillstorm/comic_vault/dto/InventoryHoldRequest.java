@@ -0,0 +1,32 @@
+package com.skillstorm.comic_vault.dto;
+
+import java.time.Duration;
+
+/**
+ * DTO used to place a hold for a transfer: the same fields as a transfer, plus how long the hold lasts
+ *
+ * ttl is an ISO-8601 duration (e.g. "PT10M") or a number of seconds; comic-vault.holds.default-ttl when omitted
+ */
+public class InventoryHoldRequest extends TransferRequest {
+
+    private Duration ttl;
+
+    // default constructor
+    public InventoryHoldRequest() {
+    }
+
+    // full constructor
+    public InventoryHoldRequest(Long sourceVaultId, Long destinationVaultId, Long comicId, Integer quantity, Duration ttl) {
+        super(sourceVaultId, destinationVaultId, comicId, quantity);
+        this.ttl = ttl;
+    }
+
+    // getters and setters
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+}
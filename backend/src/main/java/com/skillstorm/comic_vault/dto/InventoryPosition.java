@@ -0,0 +1,54 @@
+package com.skillstorm.comic_vault.dto;
+
+// DTO for the quantity of one comic in a vault at some point in time
+// sku and name are filled in afterwards and stay null for comics deleted since
+public class InventoryPosition {
+
+    private Long comicId;
+    private String sku;
+    private String name;
+    private Integer quantity;
+
+    // default constructor
+    public InventoryPosition() {
+    }
+
+    // used by the JPQL constructor expressions (snapshot lines and summed movements)
+    public InventoryPosition(Long comicId, Number quantity) {
+        this.comicId = comicId;
+        this.quantity = quantity.intValue();
+    }
+
+    // getters and setters
+    public Long getComicId() {
+        return comicId;
+    }
+
+    public void setComicId(Long comicId) {
+        this.comicId = comicId;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
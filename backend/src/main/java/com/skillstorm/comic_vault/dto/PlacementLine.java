@@ -0,0 +1,42 @@
+package com.skillstorm.comic_vault.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+// DTO for one line of incoming stock to place: a quantity of a comic, vault not chosen yet
+public class PlacementLine {
+
+    @NotNull(message = "Comic ID is required")
+    private Long comicId;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+
+    // default constructor
+    public PlacementLine() {
+    }
+
+    // full constructor
+    public PlacementLine(Long comicId, Integer quantity) {
+        this.comicId = comicId;
+        this.quantity = quantity;
+    }
+
+    // getters and setters
+    public Long getComicId() {
+        return comicId;
+    }
+
+    public void setComicId(Long comicId) {
+        this.comicId = comicId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,60 @@
+package com.skillstorm.comic_vault.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO used to ask where a shipment should go (see PlacementService)
+ *
+ * groupByLocation - fill the vaults of one location before spilling into the next
+ * commit          - add the proposed allocation to the vaults right away instead of only returning it
+ */
+public class PlacementRequest {
+
+    @NotEmpty(message = "At least one line is required")
+    @Size(max = 10000, message = "A placement request cannot exceed 10000 lines")
+    private List<@Valid PlacementLine> lines;
+
+    private boolean groupByLocation;
+
+    private boolean commit;
+
+    // default constructor
+    public PlacementRequest() {
+    }
+
+    // full constructor
+    public PlacementRequest(List<PlacementLine> lines, boolean groupByLocation, boolean commit) {
+        this.lines = lines;
+        this.groupByLocation = groupByLocation;
+        this.commit = commit;
+    }
+
+    // getters and setters
+    public List<PlacementLine> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<PlacementLine> lines) {
+        this.lines = lines;
+    }
+
+    public boolean isGroupByLocation() {
+        return groupByLocation;
+    }
+
+    public void setGroupByLocation(boolean groupByLocation) {
+        this.groupByLocation = groupByLocation;
+    }
+
+    public boolean isCommit() {
+        return commit;
+    }
+
+    public void setCommit(boolean commit) {
+        this.commit = commit;
+    }
+}
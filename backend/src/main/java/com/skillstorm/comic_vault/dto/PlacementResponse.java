@@ -0,0 +1,72 @@
+package com.skillstorm.comic_vault.dto;
+
+import java.util.List;
+
+/**
+ * DTO for a proposed placement of a shipment
+ *
+ * allocations are ready-made bulk inventory lines (POST /api/inventory/bulk accepts them as they are);
+ * unplaced lists what didn't fit anywhere, one entry per comic
+ */
+public class PlacementResponse {
+
+    private boolean committed;
+    private int placedQuantity;
+    private int unplacedQuantity;
+    private List<BulkInventoryLine> allocations;
+    private List<PlacementLine> unplaced;
+
+    // default constructor
+    public PlacementResponse() {
+    }
+
+    // full constructor
+    public PlacementResponse(boolean committed, int placedQuantity, int unplacedQuantity, List<BulkInventoryLine> allocations, List<PlacementLine> unplaced) {
+        this.committed = committed;
+        this.placedQuantity = placedQuantity;
+        this.unplacedQuantity = unplacedQuantity;
+        this.allocations = allocations;
+        this.unplaced = unplaced;
+    }
+
+    // getters and setters
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    public void setCommitted(boolean committed) {
+        this.committed = committed;
+    }
+
+    public int getPlacedQuantity() {
+        return placedQuantity;
+    }
+
+    public void setPlacedQuantity(int placedQuantity) {
+        this.placedQuantity = placedQuantity;
+    }
+
+    public int getUnplacedQuantity() {
+        return unplacedQuantity;
+    }
+
+    public void setUnplacedQuantity(int unplacedQuantity) {
+        this.unplacedQuantity = unplacedQuantity;
+    }
+
+    public List<BulkInventoryLine> getAllocations() {
+        return allocations;
+    }
+
+    public void setAllocations(List<BulkInventoryLine> allocations) {
+        this.allocations = allocations;
+    }
+
+    public List<PlacementLine> getUnplaced() {
+        return unplaced;
+    }
+
+    public void setUnplaced(List<PlacementLine> unplaced) {
+        this.unplaced = unplaced;
+    }
+}
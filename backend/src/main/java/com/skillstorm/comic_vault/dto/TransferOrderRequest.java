@@ -0,0 +1,38 @@
+package com.skillstorm.comic_vault.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO used to request many transfers at once (e.g. rebalancing a warehouse)
+ * 
+ * each line has the same shape as a single TransferRequest; lines may use any mix of
+ * source and destination vaults and are applied in order, all or nothing
+ */
+public class TransferOrderRequest {
+
+    @NotEmpty(message = "At least one line is required")
+    @Size(max = 5000, message = "A transfer order cannot exceed 5000 lines")
+    private List<@Valid TransferRequest> lines;
+
+    // default constructor
+    public TransferOrderRequest() {
+    }
+
+    // full constructor
+    public TransferOrderRequest(List<TransferRequest> lines) {
+        this.lines = lines;
+    }
+
+    // getters and setters
+    public List<TransferRequest> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<TransferRequest> lines) {
+        this.lines = lines;
+    }
+}
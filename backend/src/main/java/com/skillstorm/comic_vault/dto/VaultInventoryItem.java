@@ -0,0 +1,112 @@
+package com.skillstorm.comic_vault.dto;
+
+import java.math.BigDecimal;
+
+import com.skillstorm.comic_vault.model.VaultInventory;
+
+/**
+ * DTO for one comic held in a vault, flattened into a single row
+ * 
+ * inventory listings are built straight from a join query (see VaultInventoryRepository)
+ * so the Vault and Comic entities behind each row are never loaded or serialized
+ */
+public class VaultInventoryItem {
+
+    private Long id;
+    private Long comicId;
+    private String sku;
+    private String name;
+    private BigDecimal price;
+    private Integer quantity;
+    // held by active inventory holds; availableQuantity is what can still be transferred or held
+    private Integer reservedQuantity = 0;
+
+    // default constructor
+    public VaultInventoryItem() {
+    }
+
+    // used by the JPQL constructor expression
+    public VaultInventoryItem(Long id, Long comicId, String sku, String name, BigDecimal price, Integer quantity, Integer reservedQuantity) {
+        this.id = id;
+        this.comicId = comicId;
+        this.sku = sku;
+        this.name = name;
+        this.price = price;
+        this.quantity = quantity;
+        this.reservedQuantity = reservedQuantity;
+    }
+
+    // converts an inventory entity; its comic must already be loaded
+    public static VaultInventoryItem from(VaultInventory inventory) {
+        return new VaultInventoryItem(
+            inventory.getId(),
+            inventory.getComic().getId(),
+            inventory.getComic().getSku(),
+            inventory.getComic().getName(),
+            inventory.getComic().getPrice(),
+            inventory.getQuantity(),
+            inventory.getReservedQuantity()
+        );
+    }
+
+    // getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getComicId() {
+        return comicId;
+    }
+
+    public void setComicId(Long comicId) {
+        this.comicId = comicId;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Integer getReservedQuantity() {
+        return reservedQuantity;
+    }
+
+    public void setReservedQuantity(Integer reservedQuantity) {
+        this.reservedQuantity = reservedQuantity;
+    }
+
+    public Integer getAvailableQuantity() {
+        return quantity - reservedQuantity;
+    }
+}
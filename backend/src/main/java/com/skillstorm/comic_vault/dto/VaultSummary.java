@@ -0,0 +1,79 @@
+package com.skillstorm.comic_vault.dto;
+
+/**
+ * DTO for one row of the dashboard's vault capacity overview
+ * 
+ * built directly by VaultRepository.findAllSummaries, so no inventory entities are loaded
+ */
+public class VaultSummary {
+
+    private Long id;
+    private String name;
+    private Integer maxCapacity;
+    private Integer currentTotal;
+    private Long distinctComics;
+    private Double percentage;
+
+    // default constructor
+    public VaultSummary() {
+    }
+
+    // used by the JPQL constructor expression
+    public VaultSummary(Long id, String name, Integer maxCapacity, Integer currentTotal, Long distinctComics) {
+        this.id = id;
+        this.name = name;
+        this.maxCapacity = maxCapacity;
+        this.currentTotal = currentTotal;
+        this.distinctComics = distinctComics;
+        this.percentage = maxCapacity == null || maxCapacity == 0 ? 0.0 : currentTotal * 100.0 / maxCapacity;
+    }
+
+    // getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    public void setMaxCapacity(Integer maxCapacity) {
+        this.maxCapacity = maxCapacity;
+    }
+
+    public Integer getCurrentTotal() {
+        return currentTotal;
+    }
+
+    public void setCurrentTotal(Integer currentTotal) {
+        this.currentTotal = currentTotal;
+    }
+
+    public Long getDistinctComics() {
+        return distinctComics;
+    }
+
+    public void setDistinctComics(Long distinctComics) {
+        this.distinctComics = distinctComics;
+    }
+
+    public Double getPercentage() {
+        return percentage;
+    }
+
+    public void setPercentage(Double percentage) {
+        this.percentage = percentage;
+    }
+}
@@ -1,18 +1,32 @@
 package com.skillstorm.comic_vault.exception;
 
 import com.skillstorm.comic_vault.dto.ErrorResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
 import java.util.stream.Collectors;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * handles cases where a requested resource does not exist
      * returns: 404 Not FOund
@@ -29,6 +43,8 @@ public class GlobalExceptionHandler {
             request.getDescription(false).replace("uri=", "")
         );
 
+        count(ex, HttpStatus.NOT_FOUND);
+
         // return response entity with body and status
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
@@ -48,6 +64,8 @@ public class GlobalExceptionHandler {
             request.getDescription(false).replace("uri=", "")
         );
 
+        count(ex, HttpStatus.BAD_REQUEST);
+
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
@@ -66,6 +84,8 @@ public class GlobalExceptionHandler {
             request.getDescription(false).replace("uri=", "")
         );
 
+        count(ex, HttpStatus.BAD_REQUEST);
+
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
@@ -85,6 +105,29 @@ public class GlobalExceptionHandler {
             request.getDescription(false).replace("uri=", "")
         );
 
+        count(ex, HttpStatus.CONFLICT);
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * handles writes that lost a race with a concurrent change to the same vault or inventory row
+     * e.g. stale @Version, lock wait timeout or deadlock victim; the client can safely retry
+     * returns: 409 conflict
+     */
+    @ExceptionHandler({ OptimisticLockingFailureException.class, PessimisticLockingFailureException.class })
+    public ResponseEntity<ErrorResponse> handleConcurrentModificationException(
+            RuntimeException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            "Conflict",
+            "The resource was modified by another request. Please retry.",
+            request.getDescription(false).replace("uri=", "")
+        );
+
+        count(ex, HttpStatus.CONFLICT);
+
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
@@ -107,9 +150,55 @@ public class GlobalExceptionHandler {
             request.getDescription(false).replace("uri=", "")
         );
 
+        count(ex, HttpStatus.BAD_REQUEST);
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * handles malformed query parameters and request values the services reject
+     * e.g. unknown sort property, non-numeric cursor, unsupported orderBy, out of range hold ttl
+     * other IllegalArgumentExceptions are bugs and fall through to the 500 handler
+     * returns: 400 Bad Request
+     */
+    @ExceptionHandler({ BadRequestException.class, PropertyReferenceException.class, MethodArgumentTypeMismatchException.class,
+            NumberFormatException.class })
+    public ResponseEntity<ErrorResponse> handleBadRequestParameterException(
+            RuntimeException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            "Bad Request",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+
+        count(ex, HttpStatus.BAD_REQUEST);
+
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * handles a request body in a content type the endpoint doesn't accept
+     * e.g. a catalog import uploaded as a form
+     * returns: 415 Unsupported Media Type
+     */
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<ErrorResponse> handleUnsupportedMediaTypeException(
+            HttpMediaTypeNotSupportedException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(),
+            "Unsupported Media Type",
+            ex.getMessage(),
+            request.getDescription(false).replace("uri=", "")
+        );
+
+        count(ex, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+
     /**
      * fallback handler; catches any exception not handled otherwise
      * returns: 500 Internal Server Error
@@ -125,6 +214,21 @@ public class GlobalExceptionHandler {
             request.getDescription(false).replace("uri=", "")
         );
 
+        count(ex, HttpStatus.INTERNAL_SERVER_ERROR);
+
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
-}
\ No newline at end of file
+
+    /**
+     * counts every handled exception as comicvault.exceptions, tagged with its type and the response status
+     * e.g. capacity rejections = comicvault_exceptions_total{exception="InsufficientCapacityException"}
+     */
+    private void count(Exception ex, HttpStatus status) {
+        Counter.builder("comicvault.exceptions")
+            .description("Exceptions handled by GlobalExceptionHandler")
+            .tag("exception", ex.getClass().getSimpleName())
+            .tag("status", String.valueOf(status.value()))
+            .register(meterRegistry)
+            .increment();
+    }
+}
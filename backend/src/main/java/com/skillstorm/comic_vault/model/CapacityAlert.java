@@ -0,0 +1,82 @@
+package com.skillstorm.comic_vault.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// an active capacity alert; at most one per vault, removed once the vault drops back below its thresholds
+// written only when a vault's alert level changes (see CapacityAlertService)
+@Entity
+@Table(name = "capacity_alert")
+public class CapacityAlert {
+
+    public enum Level {
+        NONE,
+        WARNING,
+        CRITICAL
+    }
+
+    @Id
+    @Column(name = "vault_id")
+    private Long vaultId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Level level;
+
+    // the occupancy percentage that raised the current level
+    @Column(nullable = false)
+    private int threshold;
+
+    // when the vault first went into alert, kept while it moves between WARNING and CRITICAL
+    @Column(nullable = false, name = "raised_at")
+    private LocalDateTime raisedAt;
+
+    @Column(nullable = false, name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // constructors
+    public CapacityAlert() {
+    }
+
+    public CapacityAlert(Long vaultId, Level level, int threshold, LocalDateTime raisedAt) {
+        this.vaultId = vaultId;
+        this.level = level;
+        this.threshold = threshold;
+        this.raisedAt = raisedAt;
+        this.updatedAt = raisedAt;
+    }
+
+    // getters and setters
+    public Long getVaultId() {
+        return vaultId;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public LocalDateTime getRaisedAt() {
+        return raisedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    // moves the alert to another level, keeping raisedAt
+    public void changeLevel(Level level, int threshold, LocalDateTime at) {
+        this.level = level;
+        this.threshold = threshold;
+        this.updatedAt = at;
+    }
+}
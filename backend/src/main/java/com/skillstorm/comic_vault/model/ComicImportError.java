@@ -0,0 +1,67 @@
+package com.skillstorm.comic_vault.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+// a row of an import file that could not be imported
+@Entity
+@Table(name = "comic_import_error", indexes = @Index(name = "idx_import_error_job_row", columnList = "job_id, row_num"))
+public class ComicImportError {
+
+    // pooled sequence so a chunk's errors are inserted in one JDBC batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comic_import_error_seq")
+    @SequenceGenerator(name = "comic_import_error_seq", sequenceName = "comic_import_error_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, name = "job_id")
+    private Long jobId;
+
+    // 1-based record number in the file (header excluded)
+    @Column(nullable = false, name = "row_num")
+    private long rowNumber;
+
+    @Column(length = 50)
+    private String sku;
+
+    @Column(nullable = false, length = 1000)
+    private String message;
+
+    // constructors
+    public ComicImportError() {
+    }
+
+    public ComicImportError(Long jobId, long rowNumber, String sku, String message) {
+        this.jobId = jobId;
+        this.rowNumber = rowNumber;
+        this.sku = sku;
+        this.message = message;
+    }
+
+    // getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,174 @@
+package com.skillstorm.comic_vault.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+
+// one catalog import: where its file is, how far it got and what happened to the rows
+// the counters only ever include committed chunks, so they double as the resume point
+@Entity
+@Table(name = "comic_import_job")
+public class ComicImportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED      // can be resumed from the last committed chunk
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private FileFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status;
+
+    // size of the uploaded file and how much of it has been read, for a progress percentage
+    @Column(nullable = false, name = "file_size")
+    private long fileSize;
+
+    @Column(nullable = false, name = "bytes_read")
+    private long bytesRead;
+
+    // rows read from the file in committed chunks = imported + duplicate + failed
+    @Column(nullable = false, name = "processed_rows")
+    private long processedRows;
+
+    @Column(nullable = false, name = "imported_rows")
+    private long importedRows;
+
+    // SKU already in the catalog (or earlier in the same file); skipped
+    @Column(nullable = false, name = "duplicate_rows")
+    private long duplicateRows;
+
+    // invalid rows; the first ones are kept as ComicImportErrors
+    @Column(nullable = false, name = "failed_rows")
+    private long failedRows;
+
+    // why the job failed, if it did
+    @Column(length = 1000)
+    private String error;
+
+    @Column(nullable = false, updatable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false, name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // JPA lifecycle callbacks
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // constructors
+    public ComicImportJob() {
+    }
+
+    public ComicImportJob(FileFormat format) {
+        this.format = format;
+        this.status = Status.QUEUED;
+    }
+
+    // getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public FileFormat getFormat() {
+        return format;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public void setBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    public long getProcessedRows() {
+        return processedRows;
+    }
+
+    public void setProcessedRows(long processedRows) {
+        this.processedRows = processedRows;
+    }
+
+    public long getImportedRows() {
+        return importedRows;
+    }
+
+    public void setImportedRows(long importedRows) {
+        this.importedRows = importedRows;
+    }
+
+    public long getDuplicateRows() {
+        return duplicateRows;
+    }
+
+    public void setDuplicateRows(long duplicateRows) {
+        this.duplicateRows = duplicateRows;
+    }
+
+    public long getFailedRows() {
+        return failedRows;
+    }
+
+    public void setFailedRows(long failedRows) {
+        this.failedRows = failedRows;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
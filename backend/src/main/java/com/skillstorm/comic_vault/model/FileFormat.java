@@ -0,0 +1,38 @@
+package com.skillstorm.comic_vault.model;
+
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+
+import com.skillstorm.comic_vault.exception.BadRequestException;
+
+// file formats for catalog/inventory exports and catalog imports
+public enum FileFormat {
+    CSV(new MediaType("text", "csv"), "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");     // one JSON object per line
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    FileFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    // parses a ?format= parameter, case-insensitive
+    public static FileFormat from(String format) {
+        try {
+            return valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("format must be 'csv' or 'ndjson'");
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.skillstorm.comic_vault.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+// a pending transfer: quantity of a comic held in the source vault and the same amount of capacity held in the
+// destination vault until it is committed, released or expires (see InventoryHoldService)
+// while active, the held amounts are counted in VaultInventory.reservedQuantity and Vault.reservedCapacity
+@Entity
+@Table(name = "inventory_hold", indexes = {
+    @Index(name = "idx_hold_status_expiry", columnList = "status, expires_at")      // expiry sweep and purge
+})
+public class InventoryHold {
+
+    public enum Status {
+        ACTIVE,
+        COMMITTED,      // applied as a transfer
+        RELEASED,
+        EXPIRED         // released by the expiry sweep
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_hold_seq")
+    @SequenceGenerator(name = "inventory_hold_seq", sequenceName = "inventory_hold_seq", allocationSize = 50)
+    private Long id;
+
+    // plain ids like the movement ledger; a closed hold outlives its vaults and comic
+    @Column(nullable = false, name = "source_vault_id")
+    private Long sourceVaultId;
+
+    @Column(nullable = false, name = "destination_vault_id")
+    private Long destinationVaultId;
+
+    @Column(nullable = false, name = "comic_id")
+    private Long comicId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status = Status.ACTIVE;
+
+    @Column(nullable = false, name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false, updatable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    // when it stopped being active
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
+    // JPA lifecycle callback
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // constructors
+    public InventoryHold() {
+    }
+
+    public InventoryHold(Long sourceVaultId, Long destinationVaultId, Long comicId, Integer quantity, LocalDateTime expiresAt) {
+        this.sourceVaultId = sourceVaultId;
+        this.destinationVaultId = destinationVaultId;
+        this.comicId = comicId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+    }
+
+    public void close(Status status) {
+        this.status = status;
+        this.closedAt = LocalDateTime.now();
+    }
+
+    // getters (only the status changes after creation, through close)
+    public Long getId() {
+        return id;
+    }
+
+    public Long getSourceVaultId() {
+        return sourceVaultId;
+    }
+
+    public Long getDestinationVaultId() {
+        return destinationVaultId;
+    }
+
+    public Long getComicId() {
+        return comicId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+}
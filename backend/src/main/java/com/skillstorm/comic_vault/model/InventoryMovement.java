@@ -0,0 +1,109 @@
+package com.skillstorm.comic_vault.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+// append-only ledger: one row per quantity change of a comic in a vault, never updated or deleted
+@Entity
+@Table(name = "inventory_movement", indexes = {
+    @Index(name = "idx_movement_vault_time", columnList = "vault_id, occurred_at"),     // point-in-time queries per vault
+    @Index(name = "idx_movement_time", columnList = "occurred_at")                      // snapshot job
+})
+public class InventoryMovement {
+
+    // what caused a movement
+    public enum Reason {
+        ADD,
+        ADJUST,
+        REMOVE,
+        TRANSFER_OUT,
+        TRANSFER_IN
+    }
+
+    // pooled sequence so the movements of one request are inserted in a JDBC batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_movement_seq")
+    @SequenceGenerator(name = "inventory_movement_seq", sequenceName = "inventory_movement_seq", allocationSize = 50)
+    private Long id;
+
+    // plain ids, not foreign keys: history has to outlive a deleted vault or comic
+    @Column(nullable = false, name = "vault_id")
+    private Long vaultId;
+
+    @Column(nullable = false, name = "comic_id")
+    private Long comicId;
+
+    // signed change in quantity; positive = into the vault
+    @Column(nullable = false, name = "quantity_delta")
+    private Integer quantityDelta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Reason reason;
+
+    // shared by the TRANSFER_OUT/TRANSFER_IN movements of one transfer (or transfer order)
+    @Column(name = "transfer_id")
+    private UUID transferId;
+
+    @Column(nullable = false, updatable = false, name = "occurred_at")
+    private LocalDateTime occurredAt;
+
+    // JPA lifecycle callback
+    @PrePersist
+    protected void onCreate() {
+        occurredAt = LocalDateTime.now();
+    }
+
+    // constructors
+    public InventoryMovement() {
+    }
+
+    public InventoryMovement(Long vaultId, Long comicId, Integer quantityDelta, Reason reason, UUID transferId) {
+        this.vaultId = vaultId;
+        this.comicId = comicId;
+        this.quantityDelta = quantityDelta;
+        this.reason = reason;
+        this.transferId = transferId;
+    }
+
+    // getters (movements are immutable once written)
+    public Long getId() {
+        return id;
+    }
+
+    public Long getVaultId() {
+        return vaultId;
+    }
+
+    public Long getComicId() {
+        return comicId;
+    }
+
+    public Integer getQuantityDelta() {
+        return quantityDelta;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public UUID getTransferId() {
+        return transferId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,41 @@
+package com.skillstorm.comic_vault.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// the quantity of every comic in every vault as of takenAt; its rows are InventorySnapshotLines
+@Entity
+@Table(name = "inventory_snapshot")
+public class InventorySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // covers every movement with occurredAt <= takenAt
+    @Column(nullable = false, unique = true, name = "taken_at")
+    private LocalDateTime takenAt;
+
+    // constructors
+    public InventorySnapshot() {
+    }
+
+    public InventorySnapshot(LocalDateTime takenAt) {
+        this.takenAt = takenAt;
+    }
+
+    // getters
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+}
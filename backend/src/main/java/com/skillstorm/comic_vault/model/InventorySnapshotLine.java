@@ -0,0 +1,94 @@
+package com.skillstorm.comic_vault.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+// one comic's quantity in one vault within a snapshot; only non-zero quantities are stored
+// rows are written set-based by InventorySnapshotRepository, hence the natural key instead of a generated id
+@Entity
+@Table(name = "inventory_snapshot_line")
+@IdClass(InventorySnapshotLine.Key.class)
+public class InventorySnapshotLine {
+
+    @Id
+    @Column(name = "snapshot_id")
+    private Long snapshotId;
+
+    @Id
+    @Column(name = "vault_id")
+    private Long vaultId;
+
+    @Id
+    @Column(name = "comic_id")
+    private Long comicId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    // constructors
+    public InventorySnapshotLine() {
+    }
+
+    public InventorySnapshotLine(Long snapshotId, Long vaultId, Long comicId, Integer quantity) {
+        this.snapshotId = snapshotId;
+        this.vaultId = vaultId;
+        this.comicId = comicId;
+        this.quantity = quantity;
+    }
+
+    // getters
+    public Long getSnapshotId() {
+        return snapshotId;
+    }
+
+    public Long getVaultId() {
+        return vaultId;
+    }
+
+    public Long getComicId() {
+        return comicId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    // composite primary key (snapshot_id, vault_id, comic_id)
+    public static class Key implements Serializable {
+
+        private Long snapshotId;
+        private Long vaultId;
+        private Long comicId;
+
+        public Key() {
+        }
+
+        public Key(Long snapshotId, Long vaultId, Long comicId) {
+            this.snapshotId = snapshotId;
+            this.vaultId = vaultId;
+            this.comicId = comicId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return Objects.equals(snapshotId, other.snapshotId) && Objects.equals(vaultId, other.vaultId) && Objects.equals(comicId, other.comicId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(snapshotId, vaultId, comicId);
+        }
+    }
+}
@@ -2,14 +2,24 @@ package com.skillstorm.comic_vault.model;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -25,8 +35,10 @@ public class Vault {
      * @Min
      */
 
+    // pooled sequence, like the other entities; see Comic
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vault_seq")
+    @SequenceGenerator(name = "vault_seq", sequenceName = "vault_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Vault name is required")
@@ -43,6 +55,47 @@ public class Vault {
     @Column(nullable = false, length = 255)
     private Integer maxCapacity;
 
+    // running sum of every inventory quantity in this vault
+    // maintained by VaultInventoryService so capacity checks don't have to sum rows;
+    // VaultOccupancyReconciler checks it against the real sum
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @ColumnDefault("0")
+    @Column(nullable = false, name = "current_total")
+    private Integer currentTotal = 0;
+
+    // capacity held for incoming transfers by active inventory holds (see InventoryHoldService);
+    // free space is maxCapacity - currentTotal - reservedCapacity
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @ColumnDefault("0")
+    @Column(nullable = false, name = "reserved_capacity")
+    private Integer reservedCapacity = 0;
+
+    // occupancy percentages that raise a WARNING / CRITICAL capacity alert; null = comic-vault.alerts defaults
+    @Min(value = 1, message = "Warning threshold must be between 1 and 100")
+    @Max(value = 100, message = "Warning threshold must be between 1 and 100")
+    @Column(name = "warning_threshold")
+    private Integer warningThreshold;
+
+    @Min(value = 1, message = "Critical threshold must be between 1 and 100")
+    @Max(value = 100, message = "Critical threshold must be between 1 and 100")
+    @Column(name = "critical_threshold")
+    private Integer criticalThreshold;
+
+    // the vault's current alert level, kept next to currentTotal so each write evaluates it without a lookup
+    // (see CapacityAlertService)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'NONE'")
+    @Column(nullable = false, length = 10, name = "alert_level")
+    private CapacityAlert.Level alertLevel = CapacityAlert.Level.NONE;
+
+    // optimistic lock version; concurrent writers that bypass the vault row lock fail instead of overwriting
+    @Version
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false, updatable = false, name = "created_at")
     private LocalDateTime createdAt;
 
@@ -106,6 +159,52 @@ public class Vault {
         this.maxCapacity = maxCapacity;
     }
 
+    public Integer getCurrentTotal() {
+        return currentTotal;
+    }
+
+    public void setCurrentTotal(Integer currentTotal) {
+        this.currentTotal = currentTotal;
+    }
+
+    public Integer getReservedCapacity() {
+        return reservedCapacity;
+    }
+
+    public void setReservedCapacity(Integer reservedCapacity) {
+        this.reservedCapacity = reservedCapacity;
+    }
+
+    // space left for new inventory once active holds are counted
+    @JsonIgnore
+    public int getFreeCapacity() {
+        return maxCapacity - currentTotal - reservedCapacity;
+    }
+
+    public Integer getWarningThreshold() {
+        return warningThreshold;
+    }
+
+    public void setWarningThreshold(Integer warningThreshold) {
+        this.warningThreshold = warningThreshold;
+    }
+
+    public Integer getCriticalThreshold() {
+        return criticalThreshold;
+    }
+
+    public void setCriticalThreshold(Integer criticalThreshold) {
+        this.criticalThreshold = criticalThreshold;
+    }
+
+    public CapacityAlert.Level getAlertLevel() {
+        return alertLevel;
+    }
+
+    public void setAlertLevel(CapacityAlert.Level alertLevel) {
+        this.alertLevel = alertLevel;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -2,8 +2,13 @@ package com.skillstorm.comic_vault.model;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -11,8 +16,10 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Min;
 
 // junction table to create a many-to-many relationship between vault and comic
@@ -21,15 +28,19 @@ import jakarta.validation.constraints.Min;
 @Table(name = "vault_inventory", uniqueConstraints = @UniqueConstraint(columnNames = {"vault_id", "comic_id"}))
 public class VaultInventory {
     
+    // sequence instead of IDENTITY so Hibernate knows ids before the INSERT and can batch inserts;
+    // allocationSize 50 reserves 50 ids per sequence call (must match the sequence's INCREMENT BY)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vault_inventory_seq")
+    @SequenceGenerator(name = "vault_inventory_seq", sequenceName = "vault_inventory_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne      // many-to-one with vault
+    // LAZY: listings read through DTO projections, so the vault/comic rows are only loaded when a service touches them
+    @ManyToOne(fetch = FetchType.LAZY)      // many-to-one with vault
     @JoinColumn(name = "vault_id", nullable = false)        // creates foreign key column
     private Vault vault;
 
-    @ManyToOne      // many-to-one with comic
+    @ManyToOne(fetch = FetchType.LAZY)      // many-to-one with comic
     @JoinColumn(name = "comic_id", nullable = false)        // creates foreign key column
     private Comic comic;
 
@@ -37,6 +48,19 @@ public class VaultInventory {
     @Column(nullable = false)
     private Integer quantity;
 
+    // part of the quantity held by active inventory holds (see InventoryHoldService); only
+    // quantity - reservedQuantity can be transferred, removed or held again
+    @ColumnDefault("0")
+    @Column(nullable = false, name = "reserved_quantity")
+    private Integer reservedQuantity = 0;
+
+    // bumped on every quantity change; a stale write fails with an optimistic lock error
+    @Version
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false, updatable = false, name = "created_at")
     private LocalDateTime createdAt;
 
@@ -98,6 +122,19 @@ public class VaultInventory {
         this.quantity = quantity;
     }
 
+    public Integer getReservedQuantity() {
+        return reservedQuantity;
+    }
+
+    public void setReservedQuantity(Integer reservedQuantity) {
+        this.reservedQuantity = reservedQuantity;
+    }
+
+    // available to promise
+    public int getAvailableQuantity() {
+        return quantity - reservedQuantity;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
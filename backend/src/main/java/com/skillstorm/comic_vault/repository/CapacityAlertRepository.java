@@ -0,0 +1,20 @@
+package com.skillstorm.comic_vault.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.skillstorm.comic_vault.dto.ActiveCapacityAlert;
+import com.skillstorm.comic_vault.model.CapacityAlert;
+
+@Repository
+public interface CapacityAlertRepository extends JpaRepository<CapacityAlert, Long> {
+
+    // every active alert, critical first, then oldest first
+    @Query("select new com.skillstorm.comic_vault.dto.ActiveCapacityAlert(a.vaultId, v.name, a.level, a.threshold, v.currentTotal, v.maxCapacity, a.raisedAt, a.updatedAt) " +
+           "from CapacityAlert a join Vault v on v.id = a.vaultId " +
+           "order by case when a.level = com.skillstorm.comic_vault.model.CapacityAlert.Level.CRITICAL then 0 else 1 end, a.raisedAt, a.vaultId")
+    List<ActiveCapacityAlert> findAllActive();
+}
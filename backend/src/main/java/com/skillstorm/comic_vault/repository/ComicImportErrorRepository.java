@@ -0,0 +1,15 @@
+package com.skillstorm.comic_vault.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.skillstorm.comic_vault.model.ComicImportError;
+
+@Repository
+public interface ComicImportErrorRepository extends JpaRepository<ComicImportError, Long> {
+
+    // a job's row errors in file order
+    Slice<ComicImportError> findByJobIdOrderByRowNumber(Long jobId, Pageable pageable);
+}
@@ -0,0 +1,30 @@
+package com.skillstorm.comic_vault.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.skillstorm.comic_vault.model.ComicImportJob;
+
+@Repository
+public interface ComicImportJobRepository extends JpaRepository<ComicImportJob, Long> {
+
+    // jobs a restart cut off (see ComicImportService)
+    List<ComicImportJob> findByStatusIn(Collection<ComicImportJob.Status> statuses);
+
+    // moves a FAILED job back to QUEUED; a conditional update so two concurrent resumes can't both start a worker
+    // returns 0 if the job isn't FAILED (anymore)
+    @Transactional
+    @Modifying
+    @Query("update ComicImportJob j set j.status = com.skillstorm.comic_vault.model.ComicImportJob.Status.QUEUED, " +
+           "j.error = null, j.updatedAt = :now " +
+           "where j.id = :id and j.status = com.skillstorm.comic_vault.model.ComicImportJob.Status.FAILED")
+    int requeueFailed(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
@@ -1,14 +1,27 @@
 package com.skillstorm.comic_vault.repository;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.skillstorm.comic_vault.dto.CollectionVersion;
+import com.skillstorm.comic_vault.dto.ComicExportRow;
 import com.skillstorm.comic_vault.model.Comic;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface ComicRepository extends JpaRepository<Comic, Long> {
+public interface ComicRepository extends JpaRepository<Comic, Long>, ComicSearchRepository {
     // JpaRepository gives us CRUD methods OOTB
 
     // find comic by SKU
@@ -16,4 +29,32 @@ public interface ComicRepository extends JpaRepository<Comic, Long> {
 
     // check if SKU exists
     boolean existsBySku(String sku);
+
+    // one page of comics; Slice skips the count(*) query a Page would need
+    Slice<Comic> findAllBy(Pageable pageable);
+
+    // keyset pagination: the page after a cursor, so deep pages don't pay for OFFSET
+    Slice<Comic> findByIdGreaterThan(Long id, Pageable pageable);
+
+    Slice<Comic> findBySkuGreaterThan(String sku, Pageable pageable);
+
+    // row count and newest updatedAt of the catalog, for the listing's ETag
+    @Query("select new com.skillstorm.comic_vault.dto.CollectionVersion(count(c), max(c.updatedAt)) from Comic c")
+    CollectionVersion findCatalogVersion();
+
+    // which of the given ids exist, checked in one query without loading the comics
+    @Query("select c.id from Comic c where c.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // which of the given SKUs are already taken; catalog imports check a whole chunk at once
+    @Query("select c.sku from Comic c where c.sku in :skus")
+    Set<String> findExistingSkus(@Param("skus") Collection<String> skus);
+
+    // the whole catalog as flat rows, read from the cursor 1000 rows at a time (catalog export)
+    // DTO rows are never added to the persistence context, so memory stays flat however many there are;
+    // the stream has to be consumed and closed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.skillstorm.comic_vault.dto.ComicExportRow(c.id, c.sku, c.name, c.description, c.price, c.createdAt, c.updatedAt) " +
+           "from Comic c order by c.id")
+    Stream<ComicExportRow> streamExportRows();
 }
@@ -0,0 +1,14 @@
+package com.skillstorm.comic_vault.repository;
+
+import org.springframework.data.domain.Pageable;
+
+/**
+ * custom Spring Data fragment for catalog search
+ * implemented by ComicSearchRepositoryImpl
+ */
+public interface ComicSearchRepository {
+
+    // ranked search over name, description and sku; the last word is matched as a prefix (typeahead)
+    // only the page number and size of the pageable are used, results are always in rank order
+    ComicSearchResults search(String query, Pageable pageable);
+}
@@ -0,0 +1,141 @@
+package com.skillstorm.comic_vault.repository;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.data.domain.Pageable;
+
+import com.skillstorm.comic_vault.model.Comic;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * catalog search
+ * 
+ * PostgreSQL: SKU prefix matches first, in SKU order from the btree index (so an exact SKU is always the first
+ *             result), then name prefix matches in name order from their btree index, then full-text matches
+ *             against the stored search_vector column (GIN index), ranked with ts_rank; the column and indexes
+ *             come from the V3__comic_search and V6__comic_name_prefix migrations
+ * other databases (H2 in tests): case-insensitive LIKE over the same columns, ranked by where it matched
+ */
+class ComicSearchRepositoryImpl implements ComicSearchRepository {
+
+    // ranking has to look at every text match, so at most this many are ranked; lets a short typeahead prefix
+    // stop scanning early on a large catalog (ranking every match of a one-letter prefix over a million comics
+    // takes seconds). the candidates are the matches with the lowest ids, so the same query always ranks the
+    // same ones; the prefix tiers before them aren't capped. a query with more text matches comes back
+    // truncated, see ComicSearchResults
+    static final int MAX_RANKED_CANDIDATES = 2000;
+
+    // page ids plus how many text candidates there were. only the prefix matches up to the end of the page are
+    // read, in index order (~<~ is the order of the text_pattern_ops indexes), and the text matches are only
+    // searched when those don't fill the page: a typeahead prefix usually does, and then the GIN scan is skipped.
+    // a comic matching several ways is listed once, in its first tier, and one text candidate past the cap
+    // tells whether it was reached
+    private static final String POSTGRES_SEARCH =
+        "with prefix as (" +
+        "  (select c.id, 0 as tier, lower(c.sku) as sort_key, 0 as rank" +
+        "   from comic c where lower(c.sku) like :prefix escape '\\'" +
+        "   order by lower(c.sku) using ~<~ limit :window)" +
+        "  union all" +
+        "  (select c.id, 1, lower(c.name), 0" +
+        "   from comic c where lower(c.name) like :prefix escape '\\'" +
+        "   order by lower(c.name) using ~<~ limit :window)" +
+        ") " +
+        "select r.id, r.text_candidates from (" +
+        "  select r.*, row_number() over (partition by r.id order by r.tier) as nth," +
+        "         count(*) filter (where r.tier = 2) over () as text_candidates from (" +
+        "    select * from prefix" +
+        "    union all" +
+        "    (select c.id, 2, null, ts_rank(c.search_vector, q)" +
+        "     from comic c, to_tsquery('simple', :tsquery) q" +
+        "     where c.search_vector @@ q and (select count(distinct p.id) from prefix p) < :window" +
+        "     order by c.id limit " + (MAX_RANKED_CANDIDATES + 1) + ")" +
+        "  ) r" +
+        ") r " +
+        "where r.nth = 1 " +
+        "order by r.tier, r.sort_key using ~<~, r.rank desc, r.id " +
+        "limit :limit offset :offset";
+
+    // exact sku first, then sku prefix, name prefix, anything else
+    private static final String FALLBACK_SEARCH =
+        "select c from Comic c " +
+        "where lower(c.sku) like :prefix escape '\\' or lower(c.name) like :contains escape '\\' or lower(c.description) like :contains escape '\\' " +
+        "order by case when lower(c.sku) = :exact then 0 when lower(c.sku) like :prefix escape '\\' then 1 " +
+        "when lower(c.name) like :prefix escape '\\' then 2 else 3 end, c.name, c.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public ComicSearchResults search(String query, Pageable pageable) {
+        String exact = query.trim().toLowerCase(Locale.ROOT);
+        List<String> words = Arrays.stream(exact.split("[^\\p{L}\\p{N}]+")).filter(word -> !word.isEmpty()).toList();
+        String prefix = escapeLike(exact) + "%";
+
+        // one extra row tells us whether there is a next page without a count query
+        int limit = pageable.getPageSize() + 1;
+        List<Comic> comics;
+        boolean truncated = false;
+        if (isPostgres()) {
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = entityManager.createNativeQuery(POSTGRES_SEARCH)
+                .setParameter("tsquery", toPrefixTsQuery(words))
+                .setParameter("prefix", prefix)
+                .setParameter("window", pageable.getOffset() + limit)
+                .setParameter("limit", limit)
+                .setParameter("offset", pageable.getOffset())
+                .getResultList();
+            List<Long> ids = rows.stream().map(row -> ((Number) row[0]).longValue()).toList();
+            truncated = !rows.isEmpty() && ((Number) rows.get(0)[1]).intValue() > MAX_RANKED_CANDIDATES;
+            comics = findInOrder(ids);
+        } else {
+            comics = entityManager.createQuery(FALLBACK_SEARCH, Comic.class)
+                .setParameter("prefix", prefix)
+                .setParameter("contains", "%" + escapeLike(exact) + "%")
+                .setParameter("exact", exact)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(limit)
+                .getResultList();
+        }
+
+        boolean hasNext = comics.size() > pageable.getPageSize();
+        return new ComicSearchResults(hasNext ? comics.subList(0, pageable.getPageSize()) : comics, pageable, hasNext, truncated);
+    }
+
+    // loads a page of comics by id, keeping the ranked order
+    private List<Comic> findInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Comic> byId = new HashMap<>();
+        for (Comic comic : entityManager.createQuery("select c from Comic c where c.id in :ids", Comic.class).setParameter("ids", ids).getResultList()) {
+            byId.put(comic.getId(), comic);
+        }
+        return ids.stream().map(byId::get).toList();
+    }
+
+    // "amazing spi" -> "amazing & spi:*"; words are letters/digits only, so nothing needs escaping
+    private static String toPrefixTsQuery(List<String> words) {
+        if (words.isEmpty()) {
+            return "";
+        }
+        return words.stream().collect(Collectors.joining(" & ")) + ":*";
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private boolean isPostgres() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
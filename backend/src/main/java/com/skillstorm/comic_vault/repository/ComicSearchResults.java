@@ -0,0 +1,29 @@
+package com.skillstorm.comic_vault.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import com.skillstorm.comic_vault.model.Comic;
+
+/**
+ * a page of catalog search results
+ *
+ * truncated is true when the page reaches the text matches and more comics matched the text than
+ * ComicSearchRepositoryImpl ranks; only the candidates with the lowest ids were then ranked, so some matches
+ * can't be reached by paging. a page filled by SKU and name prefix matches never looks at the text matches
+ */
+public class ComicSearchResults extends SliceImpl<Comic> {
+
+    private final boolean truncated;
+
+    public ComicSearchResults(List<Comic> content, Pageable pageable, boolean hasNext, boolean truncated) {
+        super(content, pageable, hasNext);
+        this.truncated = truncated;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
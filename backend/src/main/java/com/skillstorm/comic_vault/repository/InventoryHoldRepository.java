@@ -0,0 +1,44 @@
+package com.skillstorm.comic_vault.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.skillstorm.comic_vault.model.InventoryHold;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface InventoryHoldRepository extends JpaRepository<InventoryHold, Long> {
+
+    // load a hold and lock it before its vaults; committing, releasing and expiring a hold all take the
+    // hold first, so only one of them can close it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from InventoryHold h where h.id = :id")
+    Optional<InventoryHold> findByIdForUpdate(@Param("id") Long id);
+
+    // the next active holds that are due, oldest first, read from the (status, expires_at) index
+    // lock timeout -2 is SKIP LOCKED: holds being committed or swept by another instance are left to them
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select h from InventoryHold h where h.status = com.skillstorm.comic_vault.model.InventoryHold.Status.ACTIVE " +
+           "and h.expiresAt <= :now order by h.expiresAt")
+    List<InventoryHold> findExpiredForUpdate(@Param("now") LocalDateTime now, Pageable limit);
+
+    // closed holds whose expiry is older than the cutoff; nothing counts them any more
+    // the statuses are listed (not "<> ACTIVE") so each one is a range of the (status, expires_at) index
+    @Modifying
+    @Query("delete from InventoryHold h where h.status in :statuses and h.expiresAt < :cutoff")
+    int deleteClosedBefore(@Param("statuses") Collection<InventoryHold.Status> statuses, @Param("cutoff") LocalDateTime cutoff);
+}
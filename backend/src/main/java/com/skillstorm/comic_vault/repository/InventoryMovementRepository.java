@@ -0,0 +1,30 @@
+package com.skillstorm.comic_vault.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.skillstorm.comic_vault.dto.InventoryPosition;
+import com.skillstorm.comic_vault.model.InventoryMovement;
+
+@Repository
+public interface InventoryMovementRepository extends JpaRepository<InventoryMovement, Long> {
+
+    // a vault's ledger, newest first
+    Slice<InventoryMovement> findByVaultIdOrderByOccurredAtDescIdDesc(Long vaultId, Pageable pageable);
+
+    // net change per comic in a vault over (after, upTo]; the ledger tail replayed on top of a snapshot
+    @Query("select new com.skillstorm.comic_vault.dto.InventoryPosition(m.comicId, sum(m.quantityDelta)) " +
+           "from InventoryMovement m where m.vaultId = :vaultId and m.occurredAt > :after and m.occurredAt <= :upTo " +
+           "group by m.comicId")
+    List<InventoryPosition> sumDeltasByComic(@Param("vaultId") Long vaultId, @Param("after") LocalDateTime after, @Param("upTo") LocalDateTime upTo);
+
+    // true if anything moved in (after, upTo]; a snapshot with no new movements would only copy the last one
+    boolean existsByOccurredAtGreaterThanAndOccurredAtLessThanEqual(LocalDateTime after, LocalDateTime upTo);
+}
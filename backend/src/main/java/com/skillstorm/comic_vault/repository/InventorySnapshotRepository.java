@@ -0,0 +1,49 @@
+package com.skillstorm.comic_vault.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.skillstorm.comic_vault.dto.InventoryPosition;
+import com.skillstorm.comic_vault.model.InventorySnapshot;
+
+@Repository
+public interface InventorySnapshotRepository extends JpaRepository<InventorySnapshot, Long> {
+
+    // the nearest snapshot at or before a point in time
+    Optional<InventorySnapshot> findFirstByTakenAtLessThanEqualOrderByTakenAtDesc(LocalDateTime at);
+
+    Optional<InventorySnapshot> findFirstByOrderByTakenAtDesc();
+
+    Optional<InventorySnapshot> findFirstByOrderByTakenAtAsc();
+
+    // a vault's quantities in a snapshot; reads the (snapshot_id, vault_id) index
+    @Query("select new com.skillstorm.comic_vault.dto.InventoryPosition(l.comicId, l.quantity) " +
+           "from InventorySnapshotLine l where l.snapshotId = :snapshotId and l.vaultId = :vaultId")
+    List<InventoryPosition> findPositions(@Param("snapshotId") Long snapshotId, @Param("vaultId") Long vaultId);
+
+    // fills a new snapshot with the previous one plus every movement in (after, upTo], in one statement;
+    // comics whose quantity nets out to zero are left out
+    @Modifying
+    @Query(nativeQuery = true, value =
+        "insert into inventory_snapshot_line (snapshot_id, vault_id, comic_id, quantity) " +
+        "select cast(:snapshotId as bigint), vault_id, comic_id, sum(quantity) from (" +
+        "  select vault_id, comic_id, quantity from inventory_snapshot_line where snapshot_id = :previousId" +
+        "  union all" +
+        "  select vault_id, comic_id, quantity_delta from inventory_movement where occurred_at > :after and occurred_at <= :upTo" +
+        ") t group by vault_id, comic_id having sum(quantity) <> 0")
+    int rollForward(@Param("snapshotId") Long snapshotId, @Param("previousId") Long previousId, @Param("after") LocalDateTime after, @Param("upTo") LocalDateTime upTo);
+
+    // fills the first snapshot from the current inventory; the ledger starts empty, so this is its opening balance
+    @Modifying
+    @Query(nativeQuery = true, value =
+        "insert into inventory_snapshot_line (snapshot_id, vault_id, comic_id, quantity) " +
+        "select cast(:snapshotId as bigint), vault_id, comic_id, quantity from vault_inventory where quantity <> 0")
+    int copyCurrentInventory(@Param("snapshotId") Long snapshotId);
+}
@@ -1,26 +1,93 @@
 package com.skillstorm.comic_vault.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.skillstorm.comic_vault.dto.BulkInventoryLine;
+import com.skillstorm.comic_vault.dto.CollectionVersion;
+import com.skillstorm.comic_vault.dto.InventoryExportRow;
+import com.skillstorm.comic_vault.dto.VaultInventoryItem;
 import com.skillstorm.comic_vault.model.VaultInventory;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface VaultInventoryRepository extends JpaRepository<VaultInventory, Long> {
+public interface VaultInventoryRepository extends JpaRepository<VaultInventory, Long>, VaultInventoryUpsertRepository {
     // Spring Data JPA will automatically implement these methods based on their names
     
-    // find all inventory records for a specific vault
-    List<VaultInventory> findByVaultId(Long vaultId);
+    // one page of a vault's inventory as flat rows: a single join, no entities or proxies
+    // Slice skips the count(*) query a Page would need
+    @Query("select new com.skillstorm.comic_vault.dto.VaultInventoryItem(i.id, c.id, c.sku, c.name, c.price, i.quantity, i.reservedQuantity) " +
+           "from VaultInventory i join i.comic c where i.vault.id = :vaultId")
+    Slice<VaultInventoryItem> findItemsByVaultId(@Param("vaultId") Long vaultId, Pageable pageable);
+
+    // keyset pagination: the page of a vault's inventory after a cursor (inventory id or comic SKU)
+    @Query("select new com.skillstorm.comic_vault.dto.VaultInventoryItem(i.id, c.id, c.sku, c.name, c.price, i.quantity, i.reservedQuantity) " +
+           "from VaultInventory i join i.comic c where i.vault.id = :vaultId and i.id > :after")
+    Slice<VaultInventoryItem> findItemsByVaultIdAfterId(@Param("vaultId") Long vaultId, @Param("after") Long after, Pageable pageable);
+
+    @Query("select new com.skillstorm.comic_vault.dto.VaultInventoryItem(i.id, c.id, c.sku, c.name, c.price, i.quantity, i.reservedQuantity) " +
+           "from VaultInventory i join i.comic c where i.vault.id = :vaultId and c.sku > :after")
+    Slice<VaultInventoryItem> findItemsByVaultIdAfterSku(@Param("vaultId") Long vaultId, @Param("after") String after, Pageable pageable);
+
+    // a single inventory record as a flat row (comic fields joined in the same statement)
+    @Query("select new com.skillstorm.comic_vault.dto.VaultInventoryItem(i.id, c.id, c.sku, c.name, c.price, i.quantity, i.reservedQuantity) " +
+           "from VaultInventory i join i.comic c where i.vault.id = :vaultId and c.id = :comicId")
+    Optional<VaultInventoryItem> findItem(@Param("vaultId") Long vaultId, @Param("comicId") Long comicId);
+
+    // row count and newest updatedAt of a vault's inventory rows and their comics, for the listing's ETag
+    @Query("select new com.skillstorm.comic_vault.dto.CollectionVersion(count(i), max(i.updatedAt), max(c.updatedAt)) " +
+           "from VaultInventory i join i.comic c where i.vault.id = :vaultId")
+    CollectionVersion findInventoryVersion(@Param("vaultId") Long vaultId);
 
     // find a specific inventory record (vault + comic combo)
-    Optional<VaultInventory> findByVaultIdAndComicId(Long vaultId, Long comicId);
+    // fetches the comic in the same query since callers return it as a VaultInventoryItem;
+    // filters on the foreign key columns so the (vault_id, comic_id) unique index is used
+    @Query("select i from VaultInventory i join fetch i.comic where i.vault.id = :vaultId and i.comic.id = :comicId")
+    Optional<VaultInventory> findByVaultIdAndComicId(@Param("vaultId") Long vaultId, @Param("comicId") Long comicId);
     
+    // prefetch every inventory record for a set of vaults and comics in one query (bulk operations)
+    @Query("select i from VaultInventory i where i.vault.id in :vaultIds and i.comic.id in :comicIds")
+    List<VaultInventory> findAllByVaultIdsAndComicIds(@Param("vaultIds") Collection<Long> vaultIds, @Param("comicIds") Collection<Long> comicIds);
+
+    // which vaults hold the given comics and how many copies, as {vaultId, comicId, quantity} rows, for placement
+    // planning; a comic that exists but isn't in any vault comes back once with a null vault and quantity, so the
+    // same query is also the existence check (idx_vault_inventory_comic)
+    @Query("select new com.skillstorm.comic_vault.dto.BulkInventoryLine(i.vault.id, c.id, i.quantity) " +
+           "from Comic c left join VaultInventory i on i.comic = c where c.id in :comicIds")
+    List<BulkInventoryLine> findLinesByComicIds(@Param("comicIds") Collection<Long> comicIds);
+
+    // every vault's inventory as flat rows for the inventory export, streamed like ComicRepository.streamExportRows;
+    // ordered by the (vault_id, comic_id) unique index so the database doesn't have to sort
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.skillstorm.comic_vault.dto.InventoryExportRow(v.id, v.name, c.id, c.sku, c.name, i.quantity, i.updatedAt) " +
+           "from VaultInventory i join i.vault v join i.comic c order by i.vault.id, i.comic.id")
+    Stream<InventoryExportRow> streamExportRows();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.skillstorm.comic_vault.dto.InventoryExportRow(v.id, v.name, c.id, c.sku, c.name, i.quantity, i.updatedAt) " +
+           "from VaultInventory i join i.vault v join i.comic c where i.vault.id = :vaultId order by i.comic.id")
+    Stream<InventoryExportRow> streamExportRowsByVaultId(@Param("vaultId") Long vaultId);
+
     // check if a comic exists in any vault
     boolean existsByComicId(Long comicId);
 
     // check if a vault has any inventory
     boolean existsByVaultId(Long vaultId);
+
+    // sum of all quantities in a vault, computed by the database
+    // only used to reconcile Vault.currentTotal, capacity checks read the maintained counter
+    @Query("select coalesce(sum(i.quantity), 0) from VaultInventory i where i.vault.id = :vaultId")
+    int sumQuantityByVaultId(@Param("vaultId") Long vaultId);
 }
@@ -0,0 +1,12 @@
+package com.skillstorm.comic_vault.repository;
+
+/**
+ * custom Spring Data fragment for writes that derived queries can't express
+ * implemented by VaultInventoryUpsertRepositoryImpl
+ */
+public interface VaultInventoryUpsertRepository {
+
+    // atomically add quantity to a vault + comic record, creating the record if it doesn't exist
+    // a single statement, so it can't race with another insert of the same pair
+    void upsertQuantity(Long vaultId, Long comicId, int quantity);
+}
@@ -0,0 +1,79 @@
+package com.skillstorm.comic_vault.repository;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import com.skillstorm.comic_vault.model.VaultInventory;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * native upsert for vault_inventory
+ * 
+ * PostgreSQL: INSERT ... ON CONFLICT (vault_id, comic_id) DO UPDATE
+ * H2:         MERGE INTO ... USING ... WHEN MATCHED / WHEN NOT MATCHED
+ * 
+ * the id for a possible insert comes from the entity's own Hibernate generator, so native
+ * inserts and JPA inserts share the same pooled sequence without colliding
+ */
+class VaultInventoryUpsertRepositoryImpl implements VaultInventoryUpsertRepository {
+
+    private static final String POSTGRES_UPSERT =
+        "insert into vault_inventory (id, vault_id, comic_id, quantity, version, created_at, updated_at) " +
+        "values (:id, :vaultId, :comicId, :quantity, 0, :now, :now) " +
+        "on conflict (vault_id, comic_id) do update set " +
+        "quantity = vault_inventory.quantity + excluded.quantity, " +
+        "version = vault_inventory.version + 1, " +
+        "updated_at = excluded.updated_at";
+
+    private static final String H2_UPSERT =
+        "merge into vault_inventory t " +
+        "using (select cast(:id as bigint) as id, cast(:vaultId as bigint) as vault_id, cast(:comicId as bigint) as comic_id, " +
+        "cast(:quantity as integer) as quantity, cast(:now as timestamp) as ts) s " +
+        "on t.vault_id = s.vault_id and t.comic_id = s.comic_id " +
+        "when matched then update set quantity = t.quantity + s.quantity, version = t.version + 1, updated_at = s.ts " +
+        "when not matched then insert (id, vault_id, comic_id, quantity, version, created_at, updated_at) " +
+        "values (s.id, s.vault_id, s.comic_id, s.quantity, 0, s.ts, s.ts)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void upsertQuantity(Long vaultId, Long comicId, int quantity) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+
+        entityManager.createNativeQuery(upsertSql(session))
+            .setParameter("id", nextId(session))
+            .setParameter("vaultId", vaultId)
+            .setParameter("comicId", comicId)
+            .setParameter("quantity", quantity)
+            .setParameter("now", LocalDateTime.now())
+            .executeUpdate();
+    }
+
+    private String upsertSql(SharedSessionContractImplementor session) {
+        Dialect dialect = session.getJdbcServices().getDialect();
+        if (dialect instanceof PostgreSQLDialect) {
+            return POSTGRES_UPSERT;
+        }
+        if (dialect instanceof H2Dialect) {
+            return H2_UPSERT;
+        }
+        throw new UnsupportedOperationException("No inventory upsert statement for " + dialect.getClass().getSimpleName());
+    }
+
+    // usually served from the pooled optimizer's in-memory block, not a database round trip
+    private Object nextId(SharedSessionContractImplementor session) {
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory()
+            .getMappingMetamodel()
+            .getEntityDescriptor(VaultInventory.class)
+            .getGenerator();
+        return generator.generate(session, null);
+    }
+}
@@ -1,11 +1,75 @@
 package com.skillstorm.comic_vault.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.skillstorm.comic_vault.dto.CollectionVersion;
+import com.skillstorm.comic_vault.dto.VaultSummary;
 import com.skillstorm.comic_vault.model.Vault;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface VaultRepository extends JpaRepository<Vault, Long>{
     // JpaRepository gives us CRUD methods OOTB
+
+    // one page of vaults; Slice skips the count(*) query a Page would need
+    Slice<Vault> findAllBy(Pageable pageable);
+
+    // keyset pagination: the page of vaults after a cursor id
+    Slice<Vault> findByIdGreaterThan(Long id, Pageable pageable);
+
+    // load a vault and take a row lock on it (SELECT ... FOR UPDATE) until the transaction ends
+    // every inventory mutation locks its vault(s) first, so capacity checks and quantity debits
+    // in the same vault are serialized; when locking two vaults always lock the lower id first
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select v from Vault v where v.id = :id")
+    Optional<Vault> findByIdForUpdate(@Param("id") Long id);
+
+    // locks many vaults in one statement; rows are locked in ascending id order, same as single locks
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select v from Vault v where v.id in :ids order by v.id")
+    List<Vault> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // locks every vault, e.g. to read all inventory at a single consistent moment (first ledger snapshot)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select v from Vault v order by v.id")
+    List<Vault> findAllForUpdate();
+
+    // row count and newest updatedAt of all vaults, for the listing's ETag
+    @Query("select new com.skillstorm.comic_vault.dto.CollectionVersion(count(v), max(v.updatedAt)) from Vault v")
+    CollectionVersion findVaultsVersion();
+
+    // capacity check and occupancy increment in one statement
+    // returns 1 if the quantity fit and was added, 0 if the vault is missing or would overflow
+    // (capacity held by inventory holds counts as used); the UPDATE holds the vault's row lock
+    // until commit, same as findByIdForUpdate
+    @Modifying
+    @Query("update Vault v set v.currentTotal = v.currentTotal + :quantity, v.version = v.version + 1, v.updatedAt = :now " +
+           "where v.id = :id and v.currentTotal + v.reservedCapacity + :quantity <= v.maxCapacity")
+    int addToCurrentTotalIfFits(@Param("id") Long id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    // ids of vaults whose maintained current_total no longer matches the sum of their inventory rows
+    // used by the occupancy reconciliation job, which locks them in this (ascending id) order
+    @Query("select v.id from Vault v where v.currentTotal <> " +
+           "(select coalesce(sum(i.quantity), 0) from VaultInventory i where i.vault = v) order by v.id")
+    List<Long> findIdsWithOccupancyDrift();
+
+    // capacity overview for every vault in one aggregate query
+    // currentTotal comes from the maintained counter, the join only counts distinct comics
+    @Query("select new com.skillstorm.comic_vault.dto.VaultSummary(v.id, v.name, v.maxCapacity, v.currentTotal, count(i.id)) " +
+           "from Vault v left join VaultInventory i on i.vault = v " +
+           "group by v.id, v.name, v.maxCapacity, v.currentTotal order by v.id")
+    List<VaultSummary> findAllSummaries();
 }
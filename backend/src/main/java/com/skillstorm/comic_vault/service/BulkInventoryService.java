@@ -0,0 +1,176 @@
+package com.skillstorm.comic_vault.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.skillstorm.comic_vault.config.CacheConfig;
+import com.skillstorm.comic_vault.dto.BulkInventoryLine;
+import com.skillstorm.comic_vault.dto.BulkInventoryRequest;
+import com.skillstorm.comic_vault.dto.BulkInventoryResponse;
+import com.skillstorm.comic_vault.dto.BulkLineResult;
+import com.skillstorm.comic_vault.model.InventoryMovement;
+import com.skillstorm.comic_vault.model.Vault;
+import com.skillstorm.comic_vault.model.VaultInventory;
+import com.skillstorm.comic_vault.repository.ComicRepository;
+import com.skillstorm.comic_vault.repository.InventoryMovementRepository;
+import com.skillstorm.comic_vault.repository.VaultInventoryRepository;
+import com.skillstorm.comic_vault.repository.VaultRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * adds many comics to one or more vaults in a single transaction
+ * 
+ * the whole request costs a fixed number of queries no matter how many lines it has:
+ * lock the vaults, check which comics exist, prefetch the affected inventory rows,
+ * then write every insert/update (and ledger movement) through Hibernate's JDBC batching on commit
+ */
+@Service
+@Timed(value = "comicvault.service", histogram = true)
+public class BulkInventoryService {
+
+    private final VaultRepository vaultRepository;
+    private final ComicRepository comicRepository;
+    private final VaultInventoryRepository inventoryRepository;
+    private final InventoryMovementRepository movementRepository;
+    private final InventoryEventPublisher eventPublisher;
+    private final CapacityAlertService alertService;
+
+    public BulkInventoryService(VaultRepository vaultRepository, ComicRepository comicRepository, VaultInventoryRepository inventoryRepository,
+            InventoryMovementRepository movementRepository, InventoryEventPublisher eventPublisher, CapacityAlertService alertService) {
+        this.vaultRepository = vaultRepository;
+        this.comicRepository = comicRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.movementRepository = movementRepository;
+        this.eventPublisher = eventPublisher;
+        this.alertService = alertService;
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.VAULTS, allEntries = true)    // touches the currentTotal of many vaults
+    public BulkInventoryResponse addComics(BulkInventoryRequest request) {
+        List<BulkInventoryLine> lines = request.getLines();
+        boolean allOrNothing = request.getMode() == BulkInventoryRequest.Mode.ALL_OR_NOTHING;
+
+        // TreeSet keeps the vault ids sorted; the lock query takes them in that order
+        Set<Long> vaultIds = new TreeSet<>();
+        Set<Long> comicIds = new HashSet<>();
+        for (BulkInventoryLine line : lines) {
+            vaultIds.add(line.getVaultId());
+            comicIds.add(line.getComicId());
+        }
+
+        // lock every vault involved, same row locks as the single-line endpoints
+        Map<Long, Vault> vaults = new HashMap<>();
+        for (Vault vault : vaultRepository.findAllByIdForUpdate(vaultIds)) {
+            vaults.put(vault.getId(), vault);
+        }
+        Set<Long> existingComicIds = comicRepository.findExistingIds(comicIds);
+
+        // validate each line; capacity is checked against the running total per vault
+        BulkLineResult[] results = new BulkLineResult[lines.size()];
+        Map<Long, Integer> addedPerVault = new HashMap<>();
+        boolean anyRejected = false;
+
+        for (int i = 0; i < lines.size(); i++) {
+            BulkInventoryLine line = lines.get(i);
+            Vault vault = vaults.get(line.getVaultId());
+
+            String rejection = null;
+            if (vault == null) {
+                rejection = "Vault not found with id: " + line.getVaultId();
+            } else if (!existingComicIds.contains(line.getComicId())) {
+                rejection = "Comic not found with id: " + line.getComicId();
+            } else {
+                int added = addedPerVault.getOrDefault(vault.getId(), 0);
+                // space held for incoming transfers counts as used
+                int available = vault.getFreeCapacity() - added;
+                if (line.getQuantity() > available) {
+                    rejection = "Adding " + line.getQuantity() + " would exceed vault capacity. Available space: " + available;
+                } else {
+                    addedPerVault.put(vault.getId(), added + line.getQuantity());
+                }
+            }
+
+            if (rejection != null) {
+                anyRejected = true;
+                results[i] = new BulkLineResult(i, BulkLineResult.Status.REJECTED, rejection);
+            } else {
+                results[i] = new BulkLineResult(i, BulkLineResult.Status.APPLIED, null);
+            }
+        }
+
+        // all-or-nothing: one bad line means nothing is written
+        if (allOrNothing && anyRejected) {
+            for (BulkLineResult result : results) {
+                if (result.getStatus() == BulkLineResult.Status.APPLIED) {
+                    result.setStatus(BulkLineResult.Status.NOT_APPLIED);
+                }
+            }
+            return buildResponse(request.getMode(), results, "No lines were applied because at least one line was rejected");
+        }
+
+        apply(lines, results, vaults, comicIds, addedPerVault);
+
+        String message = anyRejected ? "Some lines were rejected" : "All lines were applied";
+        return buildResponse(request.getMode(), results, message);
+    }
+
+    // writes the accepted lines; updates and inserts are flushed in JDBC batches at commit
+    private void apply(List<BulkInventoryLine> lines, BulkLineResult[] results, Map<Long, Vault> vaults, Set<Long> comicIds, Map<Long, Integer> addedPerVault) {
+        InventoryRows rows = new InventoryRows(inventoryRepository.findAllByVaultIdsAndComicIds(vaults.keySet(), comicIds));
+        List<VaultInventory> newRows = new ArrayList<>();
+        List<InventoryMovement> movements = new ArrayList<>();
+
+        for (int i = 0; i < lines.size(); i++) {
+            if (results[i].getStatus() != BulkLineResult.Status.APPLIED) {
+                continue;
+            }
+
+            BulkInventoryLine line = lines.get(i);
+            movements.add(new InventoryMovement(line.getVaultId(), line.getComicId(), line.getQuantity(), InventoryMovement.Reason.ADD, null));
+            VaultInventory row = rows.get(line.getVaultId(), line.getComicId());
+            if (row != null) {
+                // existing record (or one created by an earlier line) -> dirty-checked update
+                row.setQuantity(row.getQuantity() + line.getQuantity());
+            } else {
+                // getReferenceById gives a proxy for the foreign key without selecting the comic
+                row = new VaultInventory(vaults.get(line.getVaultId()), comicRepository.getReferenceById(line.getComicId()), line.getQuantity());
+                rows.put(row);
+                newRows.add(row);
+            }
+        }
+
+        inventoryRepository.saveAll(newRows);
+        movementRepository.saveAll(movements);
+
+        for (Map.Entry<Long, Integer> added : addedPerVault.entrySet()) {
+            Vault vault = vaults.get(added.getKey());
+            vault.setCurrentTotal(vault.getCurrentTotal() + added.getValue());
+            eventPublisher.inventoryBatchChanged(vault, added.getValue());
+            alertService.evaluate(vault);
+        }
+    }
+
+    private BulkInventoryResponse buildResponse(BulkInventoryRequest.Mode mode, BulkLineResult[] results, String message) {
+        int applied = 0;
+        int rejected = 0;
+        for (BulkLineResult result : results) {
+            if (result.getStatus() == BulkLineResult.Status.APPLIED) {
+                applied++;
+            } else if (result.getStatus() == BulkLineResult.Status.REJECTED) {
+                rejected++;
+            }
+        }
+        return new BulkInventoryResponse(mode, applied, rejected, message, List.of(results));
+    }
+}
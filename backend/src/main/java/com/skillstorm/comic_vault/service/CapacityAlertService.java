@@ -0,0 +1,136 @@
+package com.skillstorm.comic_vault.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.skillstorm.comic_vault.config.CacheConfig;
+import com.skillstorm.comic_vault.dto.ActiveCapacityAlert;
+import com.skillstorm.comic_vault.exception.BadRequestException;
+import com.skillstorm.comic_vault.model.CapacityAlert;
+import com.skillstorm.comic_vault.model.Vault;
+import com.skillstorm.comic_vault.repository.CapacityAlertRepository;
+import com.skillstorm.comic_vault.repository.VaultRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * capacity alerts, evaluated on every write that changes a vault's occupancy or thresholds
+ * 
+ * the vault's current alert level is stored on the vault row, so evaluating a write is a comparison of
+ * its new currentTotal against two thresholds: no rescan and no extra query. the capacity_alert table is
+ * only written when the level changes, and reading the active alerts is a plain select.
+ * 
+ * hysteresis: a level is raised at its threshold but only cleared once occupancy drops comic-vault.alerts.hysteresis
+ * percentage points below it, so a vault hovering around a threshold doesn't flap
+ */
+@Service
+@Timed(value = "comicvault.service", histogram = true)
+public class CapacityAlertService {
+
+    private final CapacityAlertRepository alertRepository;
+    private final VaultRepository vaultRepository;
+    private final InventoryEventPublisher eventPublisher;
+    private final int defaultWarningThreshold;
+    private final int defaultCriticalThreshold;
+    private final int hysteresis;
+
+    public CapacityAlertService(CapacityAlertRepository alertRepository, VaultRepository vaultRepository, InventoryEventPublisher eventPublisher,
+            @Value("${comic-vault.alerts.warning-threshold:80}") int defaultWarningThreshold,
+            @Value("${comic-vault.alerts.critical-threshold:90}") int defaultCriticalThreshold,
+            @Value("${comic-vault.alerts.hysteresis:5}") int hysteresis) {
+        this.alertRepository = alertRepository;
+        this.vaultRepository = vaultRepository;
+        this.eventPublisher = eventPublisher;
+        this.defaultWarningThreshold = defaultWarningThreshold;
+        this.defaultCriticalThreshold = defaultCriticalThreshold;
+        this.hysteresis = hysteresis;
+    }
+
+    // every active alert, critical first
+    @Transactional(readOnly = true)
+    public List<ActiveCapacityAlert> getActiveAlerts() {
+        return alertRepository.findAllActive();
+    }
+
+    // evaluates every vault once at startup: backfills alerts for vaults that were already full before upgrading,
+    // and applies changed default thresholds; afterwards only writes evaluate
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.VAULTS, allEntries = true)    // alertLevel is part of the cached vault
+    public void evaluateAll() {
+        for (Vault vault : vaultRepository.findAllForUpdate()) {
+            evaluate(vault);
+        }
+    }
+
+    // rejects per-vault thresholds that would make WARNING unreachable
+    public void validateThresholds(Vault vault) {
+        if (warningThreshold(vault) >= criticalThreshold(vault)) {
+            throw new BadRequestException("Warning threshold (" + warningThreshold(vault) + "%) must be lower than the critical threshold ("
+                + criticalThreshold(vault) + "%)");
+        }
+    }
+
+    // re-evaluates a vault after its currentTotal, maxCapacity or thresholds changed
+    // called inside the writing transaction while the vault row is locked, so evaluations of one vault never interleave
+    public void evaluate(Vault vault) {
+        CapacityAlert.Level current = vault.getAlertLevel();
+        CapacityAlert.Level next = levelFor(vault.getCurrentTotal(), vault.getMaxCapacity(), warningThreshold(vault), criticalThreshold(vault), current);
+        if (next == current) {
+            return;
+        }
+
+        int threshold = next == CapacityAlert.Level.CRITICAL ? criticalThreshold(vault) : warningThreshold(vault);
+        LocalDateTime now = LocalDateTime.now();
+        if (current == CapacityAlert.Level.NONE) {
+            alertRepository.save(new CapacityAlert(vault.getId(), next, threshold, now));
+        } else if (next == CapacityAlert.Level.NONE) {
+            alertRepository.deleteById(vault.getId());
+        } else {
+            alertRepository.findById(vault.getId()).ifPresentOrElse(
+                alert -> alert.changeLevel(next, threshold, now),
+                () -> alertRepository.save(new CapacityAlert(vault.getId(), next, threshold, now)));
+        }
+
+        vault.setAlertLevel(next);
+        eventPublisher.capacityAlertChanged(vault, next, threshold);
+    }
+
+    // the level for an occupancy given the level the vault is at now
+    CapacityAlert.Level levelFor(int total, int maxCapacity, int warning, int critical, CapacityAlert.Level current) {
+        if (reaches(total, maxCapacity, critical)
+                || (current == CapacityAlert.Level.CRITICAL && reaches(total, maxCapacity, clearBelow(critical)))) {
+            return CapacityAlert.Level.CRITICAL;
+        }
+        if (reaches(total, maxCapacity, warning)
+                || (current != CapacityAlert.Level.NONE && reaches(total, maxCapacity, clearBelow(warning)))) {
+            return CapacityAlert.Level.WARNING;
+        }
+        return CapacityAlert.Level.NONE;
+    }
+
+    // an active level holds down to this percentage; never 0, or an empty vault would stay in alert
+    private int clearBelow(int threshold) {
+        return Math.max(threshold - hysteresis, 1);
+    }
+
+    // total / maxCapacity >= threshold %, in integer math
+    private static boolean reaches(int total, int maxCapacity, int threshold) {
+        return maxCapacity > 0 && total * 100L >= (long) threshold * maxCapacity;
+    }
+
+    private int warningThreshold(Vault vault) {
+        return vault.getWarningThreshold() != null ? vault.getWarningThreshold() : defaultWarningThreshold;
+    }
+
+    private int criticalThreshold(Vault vault) {
+        return vault.getCriticalThreshold() != null ? vault.getCriticalThreshold() : defaultCriticalThreshold;
+    }
+}
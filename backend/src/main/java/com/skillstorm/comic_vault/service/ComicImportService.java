@@ -0,0 +1,120 @@
+package com.skillstorm.comic_vault.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.skillstorm.comic_vault.exception.InvalidOperationException;
+import com.skillstorm.comic_vault.exception.ResourceNotFoundException;
+import com.skillstorm.comic_vault.model.ComicImportError;
+import com.skillstorm.comic_vault.model.ComicImportJob;
+import com.skillstorm.comic_vault.model.FileFormat;
+import com.skillstorm.comic_vault.repository.ComicImportErrorRepository;
+import com.skillstorm.comic_vault.repository.ComicImportJobRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * bulk catalog imports from CSV or NDJSON files
+ * 
+ * the upload is copied to disk as it arrives and a ComicImportWorker imports it in the background,
+ * so neither the request nor the import ever holds the whole file in memory. clients poll the job
+ * for progress and page through its row errors; a FAILED job can be resumed from its last committed chunk
+ */
+@Service
+@Timed(value = "comicvault.service", histogram = true)
+public class ComicImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ComicImportService.class);
+
+    private final ComicImportJobRepository jobRepository;
+    private final ComicImportErrorRepository errorRepository;
+    private final ComicImportWorker worker;
+
+    public ComicImportService(ComicImportJobRepository jobRepository, ComicImportErrorRepository errorRepository, ComicImportWorker worker) {
+        this.jobRepository = jobRepository;
+        this.errorRepository = errorRepository;
+        this.worker = worker;
+    }
+
+    // stores the uploaded file and queues the import; returns the QUEUED job
+    public ComicImportJob startImport(FileFormat format, InputStream body) throws IOException {
+        ComicImportJob job = jobRepository.save(new ComicImportJob(format));
+        Path file = worker.fileFor(job);
+
+        try {
+            Files.createDirectories(file.getParent());
+            job.setFileSize(Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING));
+        } catch (IOException e) {
+            // e.g. the client disconnected mid-upload; a partial file must never be imported
+            Files.deleteIfExists(file);
+            job.setStatus(ComicImportJob.Status.FAILED);
+            job.setError("Upload did not complete: " + e.getMessage());
+            jobRepository.save(job);
+            throw e;
+        }
+
+        // the job row is committed by now, so the worker always finds it
+        job = jobRepository.save(job);
+        worker.run(job.getId());
+        return job;
+    }
+
+    // restarts a FAILED import after its last committed chunk
+    public ComicImportJob resumeImport(Long id) {
+        ComicImportJob job = getImportJob(id);
+        if (job.getStatus() != ComicImportJob.Status.FAILED) {
+            throw new InvalidOperationException("Only failed imports can be resumed; import " + id + " is " + job.getStatus());
+        }
+        if (!Files.exists(worker.fileFor(job))) {
+            throw new InvalidOperationException("The file for import " + id + " is no longer available. Please upload it again.");
+        }
+        // another resume got there first
+        if (jobRepository.requeueFailed(id, LocalDateTime.now()) == 0) {
+            throw new InvalidOperationException("Import " + id + " has already been resumed");
+        }
+
+        // the requeue has committed, so the worker sees the job as QUEUED
+        worker.run(id);
+        return getImportJob(id);
+    }
+
+    public ComicImportJob getImportJob(Long id) {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Import not found with id: " + id));
+    }
+
+    // a job's row errors in file order
+    public Slice<ComicImportError> getImportErrors(Long id, Pageable pageable) {
+        if (!jobRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Import not found with id: " + id);
+        }
+        return errorRepository.findByJobIdOrderByRowNumber(id, pageable);
+    }
+
+    // a job that was queued or running when the application stopped has no worker anymore;
+    // marking it FAILED lets it be resumed
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void failInterruptedImports() {
+        List<ComicImportJob> interrupted = jobRepository.findByStatusIn(List.of(ComicImportJob.Status.QUEUED, ComicImportJob.Status.RUNNING));
+        for (ComicImportJob job : interrupted) {
+            log.warn("Import {} was interrupted after {} rows; it can be resumed", job.getId(), job.getProcessedRows());
+            job.setStatus(ComicImportJob.Status.FAILED);
+            job.setError("Interrupted by an application restart");
+        }
+    }
+}
@@ -0,0 +1,405 @@
+package com.skillstorm.comic_vault.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.skillstorm.comic_vault.config.CacheConfig;
+import com.skillstorm.comic_vault.dto.ComicImportRow;
+import com.skillstorm.comic_vault.model.Comic;
+import com.skillstorm.comic_vault.model.ComicImportError;
+import com.skillstorm.comic_vault.model.ComicImportJob;
+import com.skillstorm.comic_vault.model.FileFormat;
+import com.skillstorm.comic_vault.repository.ComicImportErrorRepository;
+import com.skillstorm.comic_vault.repository.ComicImportJobRepository;
+import com.skillstorm.comic_vault.repository.ComicRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+
+/**
+ * runs catalog imports in the background (see ComicImportService)
+ * 
+ * the stored file is parsed one record at a time and committed in chunks of comic-vault.import.chunk-size:
+ * each chunk validates its rows, looks up all of its SKUs in one query, inserts the new comics as a JDBC
+ * batch and moves the job's counters forward in the same transaction. a failure only loses the chunk in
+ * flight, and a resume skips the rows the counters say are already committed
+ */
+@Component
+public class ComicImportWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(ComicImportWorker.class);
+
+    // new comics go in as plain JDBC batches, skipping the persistence context; ids come from Comic's own
+    // Hibernate generator so they never collide with comics saved through JPA
+    private static final String INSERT_COMIC =
+        "insert into comic (id, sku, name, description, price, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?)";
+
+    // SKUs per "in (...)" lookup; keeps large chunks under the database's bind parameter limit
+    private static final int SKU_LOOKUP_SIZE = 1000;
+
+    private final ComicImportJobRepository jobRepository;
+    private final ComicImportErrorRepository errorRepository;
+    private final ComicRepository comicRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaction;
+    private final CacheManager cacheManager;
+    private final Validator validator;
+    private final ObjectMapper jsonMapper;
+    private final CsvMapper csvMapper;
+    private final Path directory;
+    private final int chunkSize;
+    private final int batchSize;
+    private final int maxStoredErrors;
+
+    public ComicImportWorker(ComicImportJobRepository jobRepository, ComicImportErrorRepository errorRepository, ComicRepository comicRepository,
+            JdbcTemplate jdbcTemplate, EntityManager entityManager, PlatformTransactionManager transactionManager, CacheManager cacheManager, Validator validator,
+            ObjectMapper jsonMapper,
+            @Value("${comic-vault.import.directory:${java.io.tmpdir}/comic-vault-imports}") Path directory,
+            @Value("${comic-vault.import.chunk-size:1000}") int chunkSize,
+            @Value("${comic-vault.import.max-stored-errors:10000}") int maxStoredErrors,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.jobRepository = jobRepository;
+        this.errorRepository = errorRepository;
+        this.comicRepository = comicRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.validator = validator;
+        this.jsonMapper = jsonMapper;
+        // extra trailing cells are ignored, like unknown columns
+        this.csvMapper = CsvMapper.builder()
+            .enable(CsvParser.Feature.IGNORE_TRAILING_UNMAPPABLE)
+            .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .build();
+        this.directory = directory;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.maxStoredErrors = maxStoredErrors;
+    }
+
+    // where a job's uploaded file is kept until the job completes
+    public Path fileFor(ComicImportJob job) {
+        return directory.resolve(job.getId() + "." + job.getFormat().getExtension());
+    }
+
+    // imports the job's file from where it left off; the job must be QUEUED
+    @Async
+    public void run(Long jobId) {
+        try {
+            ComicImportJob job = jobRepository.findById(jobId).orElseThrow();
+            job.setStatus(ComicImportJob.Status.RUNNING);
+            job = jobRepository.save(job);
+
+            Path file = fileFor(job);
+            importFile(job, file);
+
+            job = jobRepository.findById(jobId).orElseThrow();
+            job.setStatus(ComicImportJob.Status.COMPLETED);
+            jobRepository.save(job);
+            Files.deleteIfExists(file);
+            log.info("Import {} completed: {} imported, {} duplicates, {} failed", jobId, job.getImportedRows(), job.getDuplicateRows(), job.getFailedRows());
+        } catch (Exception e) {
+            // the file is kept so the job can be resumed
+            log.error("Import {} failed", jobId, e);
+            fail(jobId, e);
+        }
+    }
+
+    private void importFile(ComicImportJob job, Path file) throws IOException {
+        long committedRows = job.getProcessedRows();
+
+        try (CountingInputStream in = new CountingInputStream(Files.newInputStream(file));
+                RecordReader reader = openReader(job.getFormat(), in)) {
+            List<ImportRecord> chunk = new ArrayList<>(chunkSize);
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                // committed before an earlier failure; still has to be read to get past it
+                if (record.rowNumber() <= committedRows) {
+                    continue;
+                }
+
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    commitChunk(job.getId(), chunk, in.getCount());
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                commitChunk(job.getId(), chunk, in.getCount());
+            }
+        }
+    }
+
+    // imports one chunk and records its outcome on the job, all in one transaction
+    private void commitChunk(Long jobId, List<ImportRecord> chunk, long bytesRead) {
+        transaction.executeWithoutResult(status -> {
+            ComicImportJob job = jobRepository.findById(jobId).orElseThrow();
+
+            // valid rows by SKU; the first row with a SKU wins, later ones in the chunk are duplicates
+            Map<String, Comic> comics = new LinkedHashMap<>();
+            List<ComicImportError> errors = new ArrayList<>();
+            long duplicates = 0;
+
+            for (ImportRecord record : chunk) {
+                try {
+                    Comic comic = toComic(record);
+                    if (comics.putIfAbsent(comic.getSku(), comic) != null) {
+                        duplicates++;
+                    }
+                } catch (IllegalArgumentException e) {
+                    errors.add(new ComicImportError(jobId, record.rowNumber(), truncate(record.sku(), 50), truncate(e.getMessage(), 1000)));
+                }
+            }
+
+            // SKUs already in the catalog, including ones imported by earlier chunks of this file
+            List<String> skus = new ArrayList<>(comics.keySet());
+            for (int from = 0; from < skus.size(); from += SKU_LOOKUP_SIZE) {
+                List<String> existing = List.copyOf(comicRepository.findExistingSkus(skus.subList(from, Math.min(from + SKU_LOOKUP_SIZE, skus.size()))));
+                comics.keySet().removeAll(existing);
+                duplicates += existing.size();
+            }
+
+            // a comic created with one of these SKUs since the lookup fails the chunk on the unique constraint;
+            // the job can then be resumed and the row counts as a duplicate
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+            IdentifierGenerator idGenerator = (IdentifierGenerator) session.getFactory().getMappingMetamodel().getEntityDescriptor(Comic.class).getGenerator();
+            jdbcTemplate.batchUpdate(INSERT_COMIC, comics.values(), batchSize, (ps, comic) -> {
+                // served from the pooled optimizer's block; one sequence call per allocation size
+                ps.setLong(1, (Long) idGenerator.generate(session, null));
+                ps.setString(2, comic.getSku());
+                ps.setString(3, comic.getName());
+                ps.setString(4, comic.getDescription());
+                ps.setBigDecimal(5, comic.getPrice());
+                ps.setTimestamp(6, now);
+                ps.setTimestamp(7, now);
+            });
+
+            // only the first max-stored-errors row errors are kept; failedRows still counts all of them
+            long room = Math.max(0, maxStoredErrors - job.getFailedRows());
+            errorRepository.saveAll(errors.subList(0, (int) Math.min(room, errors.size())));
+
+            job.setProcessedRows(job.getProcessedRows() + chunk.size());
+            job.setImportedRows(job.getImportedRows() + comics.size());
+            job.setDuplicateRows(job.getDuplicateRows() + duplicates);
+            job.setFailedRows(job.getFailedRows() + errors.size());
+            job.setBytesRead(bytesRead);
+
+            if (!comics.isEmpty()) {
+                // deferred to after commit by the transaction-aware cache manager
+                cacheManager.getCache(CacheConfig.COMIC_PAGES).clear();
+            }
+        });
+    }
+
+    // builds the comic for a record and checks it against the entity's validation rules
+    // throws IllegalArgumentException with the message stored as the row's error
+    private Comic toComic(ImportRecord record) {
+        if (record.error() != null) {
+            throw new IllegalArgumentException(record.error());
+        }
+
+        ComicImportRow row = record.row();
+        Comic comic = new Comic(clean(row.getSku()), clean(row.getName()), clean(row.getDescription()), parsePrice(clean(row.getPrice())));
+
+        String violations = validator.validate(comic).stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations);
+        }
+        return comic;
+    }
+
+    // price is numeric(10, 2); extra decimals are rounded the way the column would round them
+    private BigDecimal parsePrice(String price) {
+        if (price == null) {
+            return null;
+        }
+
+        BigDecimal value;
+        try {
+            value = new BigDecimal(price).setScale(2, RoundingMode.HALF_UP);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("price: Price must be a number");
+        }
+        if (value.precision() > 10) {
+            throw new IllegalArgumentException("price: Price cannot exceed 99999999.99");
+        }
+        return value;
+    }
+
+    // marks the job FAILED in its own transaction; the chunk's transaction has already rolled back
+    private void fail(Long jobId, Exception cause) {
+        try {
+            jobRepository.findById(jobId).ifPresent(job -> {
+                job.setStatus(ComicImportJob.Status.FAILED);
+                job.setError(truncate(describe(cause), 1000));
+                jobRepository.save(job);
+            });
+        } catch (RuntimeException e) {
+            // e.g. the database is down; the job stays RUNNING until the next startup marks it FAILED
+            log.error("Could not mark import {} as failed", jobId, e);
+        }
+    }
+
+    // parse errors name the line instead of the parser's internal source description
+    private static String describe(Exception cause) {
+        if (cause instanceof JsonProcessingException parseError && parseError.getLocation() != null) {
+            return parseError.getOriginalMessage() + " (line " + parseError.getLocation().getLineNr() + ")";
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    private RecordReader openReader(FileFormat format, InputStream in) throws IOException {
+        if (format == FileFormat.CSV) {
+            // columns are matched by the header row, in any order
+            MappingIterator<ComicImportRow> rows = csvMapper.readerFor(ComicImportRow.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(in);
+            return new RecordReader() {
+                private long rowNumber;
+
+                @Override
+                public ImportRecord next() throws IOException {
+                    if (!rows.hasNextValue()) {
+                        return null;
+                    }
+                    return new ImportRecord(++rowNumber, rows.nextValue(), null);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    rows.close();
+                }
+            };
+        }
+
+        // NDJSON is read line by line, so a malformed line is an error for that row only; blank lines are skipped
+        BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return new RecordReader() {
+            private long rowNumber;
+
+            @Override
+            public ImportRecord next() throws IOException {
+                String line;
+                do {
+                    line = lines.readLine();
+                } while (line != null && line.isBlank());
+                if (line == null) {
+                    return null;
+                }
+
+                rowNumber++;
+                try {
+                    return new ImportRecord(rowNumber, jsonMapper.readValue(line, ComicImportRow.class), null);
+                } catch (JsonProcessingException e) {
+                    return new ImportRecord(rowNumber, null, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                lines.close();
+            }
+        };
+    }
+
+    // trims a value; blank counts as missing
+    private static String clean(String value) {
+        return value == null || value.isBlank() ? null : value.strip();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    // one record of the file: the parsed row, or why it couldn't be parsed
+    private record ImportRecord(long rowNumber, ComicImportRow row, String error) {
+
+        String sku() {
+            return row != null ? clean(row.getSku()) : null;
+        }
+    }
+
+    // reads the file one record at a time; next() returns null at the end
+    private interface RecordReader extends Closeable {
+        ImportRecord next() throws IOException;
+    }
+
+    // counts the bytes the parser has consumed, for the job's progress
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
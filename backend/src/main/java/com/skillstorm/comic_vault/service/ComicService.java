@@ -1,16 +1,30 @@
 package com.skillstorm.comic_vault.service;
 
-import java.util.List;
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.skillstorm.comic_vault.config.CacheConfig;
+import com.skillstorm.comic_vault.dto.CollectionVersion;
+import com.skillstorm.comic_vault.exception.BadRequestException;
 import com.skillstorm.comic_vault.exception.InvalidOperationException;
 import com.skillstorm.comic_vault.exception.ResourceNotFoundException;
 import com.skillstorm.comic_vault.model.Comic;
 import com.skillstorm.comic_vault.repository.ComicRepository;
+import com.skillstorm.comic_vault.repository.ComicSearchResults;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed(value = "comicvault.service", histogram = true)
 public class ComicService {
     
     private final ComicRepository comicRepository;
@@ -22,17 +36,67 @@ public class ComicService {
         this.inventoryService = inventoryService;
     }
     
-    // get all comics
-    public List<Comic> getAllComics() {
-        return comicRepository.findAll();
+    // get one page of comics (offset pagination, any sort)
+    // listing results are cached per request shape and dropped on any comic write; cached reads stay on the
+    // primary (no readOnly transaction), so a lagging replica can't put a stale page in the cache
+    @Cacheable(cacheNames = CacheConfig.COMIC_PAGES, key = "#pageable")
+    public Slice<Comic> getComicPage(Pageable pageable) {
+        return comicRepository.findAllBy(pageable);
+    }
+
+    // get the next comics after a cursor (keyset pagination)
+    // orderBy is "id" or "sku"; a null cursor starts from the beginning
+    @Cacheable(cacheNames = CacheConfig.COMIC_PAGES, key = "{#after, #orderBy, #size}")
+    public Slice<Comic> getComicsAfter(String after, String orderBy, int size) {
+        if ("sku".equals(orderBy)) {
+            PageRequest request = PageRequest.of(0, size, Sort.by("sku"));
+            return after == null ? comicRepository.findAllBy(request) : comicRepository.findBySkuGreaterThan(after, request);
+        }
+        if (!"id".equals(orderBy)) {
+            throw new BadRequestException("orderBy must be 'id' or 'sku'");
+        }
+
+        PageRequest request = PageRequest.of(0, size, Sort.by("id"));
+        return after == null ? comicRepository.findAllBy(request) : comicRepository.findByIdGreaterThan(Long.valueOf(after), request);
+    }
+
+    // ranked catalog search over name, description and sku (see ComicSearchRepositoryImpl)
+    // not cached; every keystroke of a typeahead is a different key
+    @Transactional(readOnly = true)
+    public ComicSearchResults searchComics(String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        return comicRepository.search(query, pageable);
+    }
+
+    // version of the whole catalog for the listing's ETag; cached with the pages, so comic writes and imports reset it
+    @Cacheable(cacheNames = CacheConfig.COMIC_PAGES, key = "'version'")
+    public CollectionVersion getCatalogVersion() {
+        return comicRepository.findCatalogVersion();
+    }
+
+    // count all comics without loading them
+    @Cacheable(cacheNames = CacheConfig.COMIC_PAGES, key = "'count'")
+    public long countComics() {
+        return comicRepository.count();
     }
     
     // get comic by ID
+    // only found comics are cached, so a miss never hides a comic created later
+    @Cacheable(cacheNames = CacheConfig.COMICS, key = "#id", unless = "#result == null")
     public Optional<Comic> getComicById(Long id) {
         return comicRepository.findById(id);
     }
+
+    // get comic by SKU
+    @Cacheable(cacheNames = CacheConfig.COMICS_BY_SKU, key = "#sku", unless = "#result == null")
+    public Optional<Comic> getComicBySku(String sku) {
+        return comicRepository.findBySku(sku);
+    }
     
     // create new comic
+    @CacheEvict(cacheNames = CacheConfig.COMIC_PAGES, allEntries = true)
     public Comic createComic(Comic comic) {
         // check if SKU already exists
         if (comicRepository.existsBySku(comic.getSku())) {
@@ -43,6 +107,11 @@ public class ComicService {
     }
     
     // update existing comic
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.COMICS, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.COMICS_BY_SKU, allEntries = true),    // the old SKU isn't known up front
+        @CacheEvict(cacheNames = CacheConfig.COMIC_PAGES, allEntries = true)
+    })
     public Comic updateComic(Long id, Comic comicDetails) {
         Comic comic = comicRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comic not found with id: " + id));
@@ -64,6 +133,11 @@ public class ComicService {
     }
     
     // delete comic
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.COMICS, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.COMICS_BY_SKU, allEntries = true),    // the old SKU isn't known up front
+        @CacheEvict(cacheNames = CacheConfig.COMIC_PAGES, allEntries = true)
+    })
     public void deleteComic(Long id) {
         Comic comic = comicRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comic not found with id: " + id));
@@ -0,0 +1,119 @@
+package com.skillstorm.comic_vault.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.skillstorm.comic_vault.dto.ComicExportRow;
+import com.skillstorm.comic_vault.dto.InventoryExportRow;
+import com.skillstorm.comic_vault.exception.ResourceNotFoundException;
+import com.skillstorm.comic_vault.model.FileFormat;
+import com.skillstorm.comic_vault.repository.ComicRepository;
+import com.skillstorm.comic_vault.repository.VaultInventoryRepository;
+import com.skillstorm.comic_vault.repository.VaultRepository;
+
+/**
+ * streams the catalog and inventory out as CSV or NDJSON, optionally gzipped
+ * 
+ * rows go straight from a database cursor through a Jackson SequenceWriter into the response:
+ * no List and no response buffer, so heap use doesn't grow with the size of the export.
+ * the body runs after the controller returns (on the MVC async executor), so it opens its own
+ * read-only transaction; the cursor is only valid inside one
+ */
+@Service
+public class ExportService {
+
+    private final ComicRepository comicRepository;
+    private final VaultInventoryRepository inventoryRepository;
+    private final VaultRepository vaultRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper jsonMapper;
+    private final CsvMapper csvMapper;
+
+    public ExportService(ComicRepository comicRepository, VaultInventoryRepository inventoryRepository, VaultRepository vaultRepository,
+            PlatformTransactionManager transactionManager, ObjectMapper jsonMapper) {
+        this.comicRepository = comicRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.vaultRepository = vaultRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.jsonMapper = jsonMapper;
+        // dates as ISO strings, same as the JSON API
+        this.csvMapper = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(CsvGenerator.Feature.STRICT_CHECK_FOR_QUOTING)     // only quote values that need it
+            .build();
+    }
+
+    // the whole comic catalog, ordered by id
+    public StreamingResponseBody exportComics(FileFormat format, boolean gzip) {
+        return out -> write(out, format, gzip, ComicExportRow.class, comicRepository::streamExportRows);
+    }
+
+    // every vault's inventory ordered by vault and comic, or a single vault's when vaultId is given
+    public StreamingResponseBody exportInventory(Long vaultId, FileFormat format, boolean gzip) {
+        if (vaultId == null) {
+            return out -> write(out, format, gzip, InventoryExportRow.class, inventoryRepository::streamExportRows);
+        }
+
+        // checked before the response starts, while a 404 can still be sent
+        if (!vaultRepository.existsById(vaultId)) {
+            throw new ResourceNotFoundException("Vault not found with id: " + vaultId);
+        }
+        return out -> write(out, format, gzip, InventoryExportRow.class, () -> inventoryRepository.streamExportRowsByVaultId(vaultId));
+    }
+
+    private <T> void write(OutputStream out, FileFormat format, boolean gzip, Class<T> rowType, Supplier<Stream<T>> rows) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+
+        // closing the SequenceWriter flushes the last rows and finishes the gzip trailer
+        try (SequenceWriter writer = writerFor(format, rowType).writeValues(target)) {
+            Long written = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<T> stream = rows.get()) {
+                    Iterator<T> iterator = stream.iterator();
+                    while (iterator.hasNext()) {
+                        writer.write(iterator.next());
+                        count++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);     // e.g. the client went away; ends the transaction
+                }
+                return count;
+            });
+
+            // the separator only goes between rows; NDJSON ends every line, the last one included
+            if (format == FileFormat.NDJSON && written != null && written > 0) {
+                writer.flush();
+                target.write('\n');
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private ObjectWriter writerFor(FileFormat format, Class<?> rowType) {
+        if (format == FileFormat.CSV) {
+            return csvMapper.writerFor(rowType).with(csvMapper.schemaFor(rowType).withHeader());
+        }
+        // NDJSON: one JSON object per line
+        return jsonMapper.writerFor(rowType).withRootValueSeparator("\n");
+    }
+}
@@ -0,0 +1,151 @@
+package com.skillstorm.comic_vault.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.skillstorm.comic_vault.exception.BadRequestException;
+import com.skillstorm.comic_vault.exception.InvalidOperationException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Idempotency-Key support for the inventory mutation endpoints
+ * 
+ * the first request with a key runs; its response is kept in a bounded, expiring in-memory store
+ * (comic-vault.idempotency.spec) and a retry with the same key gets that response back without touching
+ * the database. a duplicate that arrives while the first is still running waits for it instead of running
+ * again, for at most comic-vault.idempotency.wait-timeout; past that it is told the key is still in
+ * progress (409). failures aren't stored: concurrent duplicates get the same error, a later retry runs again.
+ * 
+ * reusing a key for a different request (other endpoint or body) is rejected. the store is per instance,
+ * so behind a load balancer retries need to reach the same node (e.g. sticky sessions)
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    // set on responses answered from the store
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final ObjectMapper jsonMapper;
+    private final Cache<String, Execution> executions;
+    private final Counter replays;
+    private final Duration waitTimeout;
+
+    public IdempotencyService(ObjectMapper jsonMapper, MeterRegistry meterRegistry,
+            @Value("${comic-vault.idempotency.spec:maximumSize=100000,expireAfterWrite=24h}") String spec,
+            @Value("${comic-vault.idempotency.wait-timeout:PT30S}") Duration waitTimeout) {
+        this.jsonMapper = jsonMapper;
+        this.waitTimeout = waitTimeout;
+        this.executions = Caffeine.from(spec).recordStats().build();
+        // same tag keys as the cache manager's caches: Prometheus drops meters whose tag keys differ from the first
+        CaffeineCacheMetrics.monitor(meterRegistry, executions, "idempotency", "cache.manager", "idempotencyService", "name", "idempotency");
+        this.replays = Counter.builder("comicvault.idempotency.replays")
+            .description("Requests answered from the idempotency store instead of running again")
+            .register(meterRegistry);
+    }
+
+    // runs the action once per key; without a key it simply runs
+    // request identifies the call (method and path), body is the request body or null
+    public <T> ResponseEntity<T> execute(String key, String request, Object body, Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        Execution mine = new Execution(fingerprint(request, body));
+        Execution existing = executions.asMap().putIfAbsent(key, mine);
+        if (existing != null) {
+            return replay(key, existing, mine.fingerprint);
+        }
+
+        try {
+            ResponseEntity<T> response = action.get();
+            mine.result.complete(response);
+            return response;
+        } catch (Throwable e) {
+            // forget the key so a later retry runs again; requests already waiting share this failure.
+            // Errors too: otherwise duplicates would wait on a result that never comes
+            executions.asMap().remove(key, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(String key, Execution existing, String fingerprint) {
+        if (!existing.fingerprint.equals(fingerprint)) {
+            throw new InvalidOperationException(HEADER + " " + key + " was already used for a different request");
+        }
+
+        ResponseEntity<?> response;
+        try {
+            // returns at once unless the first request is still running
+            response = existing.result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new InvalidOperationException("A request with " + HEADER + " " + key + " is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InvalidOperationException("Interrupted waiting for the request with " + HEADER + " " + key);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+
+        replays.increment();
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return (ResponseEntity<T>) new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
+    // the first request's own failure, so a duplicate gets the same status
+    private static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof RuntimeException e) {
+            return e;
+        }
+        if (failure instanceof Error e) {
+            throw e;
+        }
+        return new IllegalStateException("Request failed", failure);
+    }
+
+    // the request line and its body as JSON; a key only replays for an identical request
+    private String fingerprint(String request, Object body) {
+        if (body == null) {
+            return request;
+        }
+        try {
+            return request + " " + jsonMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize request body", e);
+        }
+    }
+
+    // one key's request and its eventual response
+    private static class Execution {
+        private final String fingerprint;
+        private final CompletableFuture<ResponseEntity<?>> result = new CompletableFuture<>();
+
+        private Execution(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.skillstorm.comic_vault.service;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.skillstorm.comic_vault.dto.InventoryEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * fans committed InventoryEvents out to every /api/events subscriber
+ * 
+ * each subscriber has its own bounded queue, drained by a virtual thread that writes to its SSE
+ * connection, so a slow client never blocks the committing request or the other clients. when a
+ * client falls a whole queue behind, its backlog is dropped and replaced by one RESYNC event that
+ * tells it to refetch; memory per subscriber stays bounded
+ */
+@Component
+public class InventoryEventBroadcaster {
+
+    // a queue entry that is sent as an SSE comment, keeping idle connections (and proxies) open
+    private static final InventoryEvent HEARTBEAT = new InventoryEvent();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final int queueCapacity;
+    private final Counter resyncs;
+
+    public InventoryEventBroadcaster(MeterRegistry meterRegistry, @Value("${comic-vault.events.queue-capacity:256}") int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+        Gauge.builder("comicvault.events.subscribers", subscribers, Set::size)
+            .description("Open /api/events connections")
+            .register(meterRegistry);
+        this.resyncs = Counter.builder("comicvault.events.resyncs")
+            .description("Subscribers that fell a whole queue behind and were told to refetch")
+            .register(meterRegistry);
+    }
+
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    // opens a stream for one client; it lasts until spring.mvc.async.request-timeout, then EventSource reconnects
+    public SseEmitter subscribe() throws IOException {
+        SseEmitter emitter = new SseEmitter();
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // buffered until the response starts; tells EventSource how soon to reconnect after a drop
+        emitter.send(SseEmitter.event().comment("connected").reconnectTime(3000));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    // rolled back changes never get here; events published outside a transaction (already committed) are sent at once
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void broadcast(InventoryEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${comic-vault.events.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(HEARTBEAT);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        sender.shutdownNow();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<InventoryEvent> queue = new ArrayBlockingQueue<>(queueCapacity);
+        // at most one drain per subscriber at a time, so its events are sent in queue order
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // never blocks the caller
+        void offer(InventoryEvent event) {
+            if (!queue.offer(event)) {
+                queue.clear();
+                queue.offer(InventoryEvent.resync());
+                resyncs.increment();
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                InventoryEvent event;
+                while ((event = queue.poll()) != null) {
+                    if (event == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event().id(String.valueOf(event.getId())).data(event, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // the client went away or the stream already ended; the emitter callbacks clean up too
+                subscribers.remove(this);
+                queue.clear();
+            } finally {
+                draining.set(false);
+            }
+
+            // an event offered after the last poll but before the flag was reset would otherwise wait for the next one
+            if (!queue.isEmpty() && subscribers.contains(this)) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.skillstorm.comic_vault.service;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.skillstorm.comic_vault.dto.InventoryEvent;
+import com.skillstorm.comic_vault.model.CapacityAlert;
+import com.skillstorm.comic_vault.model.InventoryMovement;
+import com.skillstorm.comic_vault.model.Vault;
+
+/**
+ * turns inventory and vault mutations into InventoryEvents for /api/events subscribers
+ * 
+ * services call this inside their transaction, while they hold the vault's row lock, so event ids
+ * follow the commit order of each vault's changes; InventoryEventBroadcaster only sends them once the
+ * transaction commits. nothing is built while nobody is subscribed
+ */
+@Component
+public class InventoryEventPublisher {
+
+    private final ApplicationEventPublisher publisher;
+    private final InventoryEventBroadcaster broadcaster;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public InventoryEventPublisher(ApplicationEventPublisher publisher, InventoryEventBroadcaster broadcaster) {
+        this.publisher = publisher;
+        this.broadcaster = broadcaster;
+    }
+
+    // false while no client is connected; callers can skip lookups that would only feed an event
+    public boolean isListening() {
+        return broadcaster.hasSubscribers();
+    }
+
+    // one comic's quantity in a vault changed; the vault's currentTotal must already include the change
+    public void inventoryChanged(Vault vault, Long comicId, int quantityDelta, int quantity, InventoryMovement.Reason reason, UUID transferId) {
+        if (!isListening()) {
+            return;
+        }
+        publish(InventoryEvent.inventory(vault.getId(), comicId, quantityDelta, quantity, reason, transferId, vault.getCurrentTotal(), vault.getMaxCapacity()));
+    }
+
+    // many rows of a vault changed by a net quantityDelta (bulk add, transfer order)
+    public void inventoryBatchChanged(Vault vault, int quantityDelta) {
+        if (!isListening()) {
+            return;
+        }
+        publish(InventoryEvent.inventoryBatch(vault.getId(), quantityDelta, vault.getCurrentTotal(), vault.getMaxCapacity()));
+    }
+
+    // a vault was created or edited
+    public void vaultChanged(Vault vault) {
+        if (!isListening()) {
+            return;
+        }
+        publish(InventoryEvent.vault(vault.getId(), vault.getCurrentTotal(), vault.getMaxCapacity()));
+    }
+
+    // CapacityAlertService moved a vault to a new alert level (NONE once cleared)
+    public void capacityAlertChanged(Vault vault, CapacityAlert.Level level, int threshold) {
+        if (!isListening()) {
+            return;
+        }
+        publish(InventoryEvent.capacity(vault.getId(), level, threshold, vault.getCurrentTotal(), vault.getMaxCapacity()));
+    }
+
+    public void vaultDeleted(Long vaultId) {
+        if (!isListening()) {
+            return;
+        }
+        publish(InventoryEvent.vaultDeleted(vaultId));
+    }
+
+    private void publish(InventoryEvent event) {
+        event.setId(sequence.incrementAndGet());
+        publisher.publishEvent(event);
+    }
+}
@@ -0,0 +1,148 @@
+package com.skillstorm.comic_vault.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.skillstorm.comic_vault.dto.InventoryHistoryResponse;
+import com.skillstorm.comic_vault.dto.InventoryPosition;
+import com.skillstorm.comic_vault.exception.BadRequestException;
+import com.skillstorm.comic_vault.exception.ResourceNotFoundException;
+import com.skillstorm.comic_vault.model.Comic;
+import com.skillstorm.comic_vault.model.InventoryMovement;
+import com.skillstorm.comic_vault.model.InventorySnapshot;
+import com.skillstorm.comic_vault.repository.ComicRepository;
+import com.skillstorm.comic_vault.repository.InventoryMovementRepository;
+import com.skillstorm.comic_vault.repository.InventorySnapshotRepository;
+import com.skillstorm.comic_vault.repository.VaultRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * inventory history from the movement ledger
+ * 
+ * every inventory mutation appends InventoryMovements; a periodic job rolls them into snapshots,
+ * so the quantity of anything at time T = nearest snapshot at or before T + the movements after it up to T.
+ * only the ledger tail since that snapshot is ever replayed, never the whole history
+ * 
+ * vault_inventory stays the materialized current state that capacity checks and listings read;
+ * the ledger and snapshots answer "what was where, when"
+ */
+@Service
+@Timed(value = "comicvault.service", histogram = true)
+public class InventoryHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryHistoryService.class);
+
+    private final InventorySnapshotRepository snapshotRepository;
+    private final InventoryMovementRepository movementRepository;
+    private final VaultRepository vaultRepository;
+    private final ComicRepository comicRepository;
+
+    public InventoryHistoryService(InventorySnapshotRepository snapshotRepository, InventoryMovementRepository movementRepository,
+            VaultRepository vaultRepository, ComicRepository comicRepository) {
+        this.snapshotRepository = snapshotRepository;
+        this.movementRepository = movementRepository;
+        this.vaultRepository = vaultRepository;
+        this.comicRepository = comicRepository;
+    }
+
+    // runs once at startup and then every snapshot-interval (default 6 hours)
+    // every mutation locks its vaults before it records a movement and keeps the locks until it commits, so a
+    // movement timestamped at or before upTo belongs to a transaction that held a vault lock at upTo. taking
+    // every vault lock after reading upTo waits for those transactions, and then the ledger up to upTo is final
+    @Scheduled(fixedDelayString = "${comic-vault.ledger.snapshot-interval:PT6H}")
+    @Transactional
+    public void takeSnapshot() {
+        LocalDateTime upTo = now();
+        InventorySnapshot previous = snapshotRepository.findFirstByOrderByTakenAtDesc().orElse(null);
+        // nothing committed since the last snapshot; anything still in flight is picked up next time
+        if (previous != null && !movementRepository.existsByOccurredAtGreaterThanAndOccurredAtLessThanEqual(previous.getTakenAt(), upTo)) {
+            return;
+        }
+
+        vaultRepository.findAllForUpdate();
+        // another instance may have taken one while this one waited for the locks
+        previous = snapshotRepository.findFirstByOrderByTakenAtDesc().orElse(null);
+        if (previous == null) {
+            takeFirstSnapshot();
+            return;
+        }
+        if (!upTo.isAfter(previous.getTakenAt())) {
+            return;
+        }
+
+        InventorySnapshot snapshot = snapshotRepository.save(new InventorySnapshot(upTo));
+        int lines = snapshotRepository.rollForward(snapshot.getId(), previous.getId(), previous.getTakenAt(), upTo);
+        log.info("Inventory snapshot {} taken as of {} ({} lines)", snapshot.getId(), upTo, lines);
+    }
+
+    // the ledger starts empty, so the first snapshot copies the current inventory as its opening balance;
+    // called holding every vault lock, so nothing is in flight, and every movement recorded later is
+    // timestamped after takenAt
+    private void takeFirstSnapshot() {
+        InventorySnapshot snapshot = snapshotRepository.save(new InventorySnapshot(now()));
+        int lines = snapshotRepository.copyCurrentInventory(snapshot.getId());
+        log.info("Opening inventory snapshot {} taken from current inventory ({} lines)", snapshot.getId(), lines);
+    }
+
+    // timestamps are stored with microsecond precision; a cutoff with more would not match its stored takenAt exactly
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    // a vault's inventory as of a point in time, ordered by comic id
+    @Transactional(readOnly = true)
+    public InventoryHistoryResponse getInventoryAt(Long vaultId, LocalDateTime at) {
+        if (!vaultRepository.existsById(vaultId)) {
+            throw new ResourceNotFoundException("Vault not found with id: " + vaultId);
+        }
+
+        InventorySnapshot snapshot = snapshotRepository.findFirstByTakenAtLessThanEqualOrderByTakenAtDesc(at)
+                .orElseThrow(() -> new BadRequestException(snapshotRepository.findFirstByOrderByTakenAtAsc()
+                        .map(first -> "Inventory history starts at " + first.getTakenAt())
+                        .orElse("Inventory history is not available yet")));
+
+        // TreeMap keeps the result ordered by comic id
+        Map<Long, InventoryPosition> positions = new TreeMap<>();
+        for (InventoryPosition position : snapshotRepository.findPositions(snapshot.getId(), vaultId)) {
+            positions.put(position.getComicId(), position);
+        }
+        for (InventoryPosition delta : movementRepository.sumDeltasByComic(vaultId, snapshot.getTakenAt(), at)) {
+            positions.merge(delta.getComicId(), delta, (position, change) -> {
+                position.setQuantity(position.getQuantity() + change.getQuantity());
+                return position;
+            });
+        }
+        positions.values().removeIf(position -> position.getQuantity() == 0);
+
+        // one query for the comic details; deleted comics keep only their id
+        for (Comic comic : comicRepository.findAllById(positions.keySet())) {
+            InventoryPosition position = positions.get(comic.getId());
+            position.setSku(comic.getSku());
+            position.setName(comic.getName());
+        }
+
+        return new InventoryHistoryResponse(vaultId, at, snapshot.getTakenAt(), new ArrayList<>(positions.values()));
+    }
+
+    // one page of a vault's movement ledger, newest first
+    @Transactional(readOnly = true)
+    public Slice<InventoryMovement> getMovements(Long vaultId, Pageable pageable) {
+        if (!vaultRepository.existsById(vaultId)) {
+            throw new ResourceNotFoundException("Vault not found with id: " + vaultId);
+        }
+        return movementRepository.findByVaultIdOrderByOccurredAtDescIdDesc(vaultId, pageable);
+    }
+}
@@ -0,0 +1,239 @@
+package com.skillstorm.comic_vault.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.skillstorm.comic_vault.config.CacheConfig;
+import com.skillstorm.comic_vault.exception.BadRequestException;
+import com.skillstorm.comic_vault.exception.InsufficientCapacityException;
+import com.skillstorm.comic_vault.exception.InsufficientQuantityException;
+import com.skillstorm.comic_vault.exception.InvalidOperationException;
+import com.skillstorm.comic_vault.exception.ResourceNotFoundException;
+import com.skillstorm.comic_vault.model.InventoryHold;
+import com.skillstorm.comic_vault.model.Vault;
+import com.skillstorm.comic_vault.model.VaultInventory;
+import com.skillstorm.comic_vault.repository.InventoryHoldRepository;
+import com.skillstorm.comic_vault.repository.VaultInventoryRepository;
+import com.skillstorm.comic_vault.repository.VaultRepository;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * holds for pending transfers: a hold sets aside quantity in the source vault and capacity in the destination
+ * vault until it is committed (applied as a transfer), released, or expires
+ *
+ * held amounts are added to counters on the rows they hold (VaultInventory.reservedQuantity, Vault.reservedCapacity)
+ * under the same vault row locks as every inventory mutation, so placing a hold and reading available-to-promise
+ * never sum the holds themselves. expiry is a sweep over the (status, expires_at) index that only ever reads the
+ * holds that are due
+ */
+@Service
+@Timed(value = "comicvault.service", histogram = true)
+public class InventoryHoldService {
+
+    private static final Set<InventoryHold.Status> CLOSED = EnumSet.complementOf(EnumSet.of(InventoryHold.Status.ACTIVE));
+
+    private final InventoryHoldRepository holdRepository;
+    private final VaultRepository vaultRepository;
+    private final VaultInventoryRepository inventoryRepository;
+    private final VaultInventoryService inventoryService;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transaction;
+    private final Counter expired;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final int sweepBatchSize;
+    private final Duration retention;
+
+    public InventoryHoldService(InventoryHoldRepository holdRepository, VaultRepository vaultRepository, VaultInventoryRepository inventoryRepository,
+            VaultInventoryService inventoryService, CacheManager cacheManager, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${comic-vault.holds.default-ttl:PT5M}") Duration defaultTtl,
+            @Value("${comic-vault.holds.max-ttl:PT1H}") Duration maxTtl,
+            @Value("${comic-vault.holds.sweep-batch-size:500}") int sweepBatchSize,
+            @Value("${comic-vault.holds.retention:P1D}") Duration retention) {
+        this.holdRepository = holdRepository;
+        this.vaultRepository = vaultRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.inventoryService = inventoryService;
+        this.cacheManager = cacheManager;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.expired = Counter.builder("comicvault.holds.expired")
+            .description("Inventory holds released by the expiry sweep")
+            .register(meterRegistry);
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        this.sweepBatchSize = sweepBatchSize;
+        this.retention = retention;
+    }
+
+    @Transactional(readOnly = true)
+    public InventoryHold getHold(Long id) {
+        return holdRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Hold not found with id: " + id));
+    }
+
+    // hold quantity of a comic in the source vault and as much capacity in the destination vault
+    // checks the same things a transfer does, against what isn't already held; a null ttl means default-ttl
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.VAULTS, key = "#destinationVaultId")    // reservedCapacity changes
+    public InventoryHold createHold(Long sourceVaultId, Long destinationVaultId, Long comicId, Integer quantity, Duration ttl) {
+        if (sourceVaultId.equals(destinationVaultId)) {
+            throw new InvalidOperationException("Cannot hold a transfer to the same vault. Source and destination must be different.");
+        }
+        LocalDateTime expiresAt = LocalDateTime.now().plus(validTtl(ttl));
+
+        // both vaults in one lock statement, lower id first like a transfer
+        Map<Long, Vault> vaults = lockVaults(Set.of(sourceVaultId, destinationVaultId));
+        if (!vaults.containsKey(sourceVaultId)) {
+            throw new ResourceNotFoundException("Source vault not found with id: " + sourceVaultId);
+        }
+        Vault destination = vaults.get(destinationVaultId);
+        if (destination == null) {
+            throw new ResourceNotFoundException("Destination vault not found with id: " + destinationVaultId);
+        }
+
+        VaultInventory sourceRow = inventoryRepository.findByVaultIdAndComicId(sourceVaultId, comicId)
+                .orElseThrow(() -> new ResourceNotFoundException("Comic with id " + comicId + " not found in source vault " + sourceVaultId));
+        if (sourceRow.getAvailableQuantity() < quantity) {
+            throw new InsufficientQuantityException("Source vault only has " + sourceRow.getAvailableQuantity() + " comics available (" +
+                sourceRow.getReservedQuantity() + " already held), cannot hold " + quantity);
+        }
+        if (destination.getFreeCapacity() < quantity) {
+            throw new InsufficientCapacityException("Destination vault only has " + destination.getFreeCapacity() + " available capacity, cannot hold " + quantity + " comics");
+        }
+
+        sourceRow.setReservedQuantity(sourceRow.getReservedQuantity() + quantity);
+        destination.setReservedCapacity(destination.getReservedCapacity() + quantity);
+        return holdRepository.save(new InventoryHold(sourceVaultId, destinationVaultId, comicId, quantity, expiresAt));
+    }
+
+    // apply an active hold as a transfer of its quantity; it can't fail for lack of stock or space,
+    // those were set aside when the hold was placed
+    @Transactional
+    public InventoryHold commitHold(Long id) {
+        InventoryHold hold = holdRepository.findByIdForUpdate(id).orElseThrow(() -> new ResourceNotFoundException("Hold not found with id: " + id));
+        if (hold.getStatus() != InventoryHold.Status.ACTIVE) {
+            throw new InvalidOperationException("Hold " + id + " is " + hold.getStatus() + " and can no longer be committed.");
+        }
+        // past its expiry but not swept yet; the sweep gives the held amounts back
+        if (!hold.getExpiresAt().isAfter(LocalDateTime.now())) {
+            throw new InvalidOperationException("Hold " + id + " expired at " + hold.getExpiresAt() + " and can no longer be committed.");
+        }
+
+        // hand the held amounts back, then let the transfer take them again under the same vault locks;
+        // it writes the ledger movements, events and alerts like any other transfer
+        releaseReservations(List.of(hold));
+        inventoryService.transferComicBetweenVaults(hold.getSourceVaultId(), hold.getDestinationVaultId(), hold.getComicId(), hold.getQuantity());
+        hold.close(InventoryHold.Status.COMMITTED);
+        return hold;
+    }
+
+    // give an active hold's quantity and capacity back; releasing a hold that is already released or expired does nothing
+    @Transactional
+    public void releaseHold(Long id) {
+        InventoryHold hold = holdRepository.findByIdForUpdate(id).orElseThrow(() -> new ResourceNotFoundException("Hold not found with id: " + id));
+        if (hold.getStatus() == InventoryHold.Status.COMMITTED) {
+            throw new InvalidOperationException("Hold " + id + " was already committed.");
+        }
+        if (hold.getStatus() != InventoryHold.Status.ACTIVE) {
+            return;
+        }
+
+        releaseReservations(List.of(hold));
+        hold.close(InventoryHold.Status.RELEASED);
+        cacheManager.getCache(CacheConfig.VAULTS).evict(hold.getDestinationVaultId());
+    }
+
+    // runs every sweep-interval: releases the holds that expired, a batch per transaction until none are due,
+    // then deletes closed holds older than retention
+    // returns the number of holds that expired
+    @Scheduled(fixedDelayString = "${comic-vault.holds.sweep-interval:PT1S}")
+    public int expireHolds() {
+        int total = 0;
+        int batch;
+        do {
+            batch = transaction.execute(status -> expireBatch());
+            total += batch;
+        } while (batch == sweepBatchSize);
+
+        transaction.executeWithoutResult(status -> holdRepository.deleteClosedBefore(CLOSED, LocalDateTime.now().minus(retention)));
+        return total;
+    }
+
+    private int expireBatch() {
+        List<InventoryHold> holds = holdRepository.findExpiredForUpdate(LocalDateTime.now(), PageRequest.ofSize(sweepBatchSize));
+        if (holds.isEmpty()) {
+            return 0;
+        }
+
+        releaseReservations(holds);
+        Cache vaultCache = cacheManager.getCache(CacheConfig.VAULTS);
+        for (InventoryHold hold : holds) {
+            hold.close(InventoryHold.Status.EXPIRED);
+            vaultCache.evict(hold.getDestinationVaultId());
+        }
+        expired.increment(holds.size());
+        return holds.size();
+    }
+
+    // takes the holds' amounts off the reserved counters; the caller has locked the holds
+    // locks every vault involved in one statement and prefetches the held inventory rows in another
+    private void releaseReservations(List<InventoryHold> holds) {
+        Set<Long> vaultIds = new HashSet<>();
+        Set<Long> comicIds = new HashSet<>();
+        for (InventoryHold hold : holds) {
+            vaultIds.add(hold.getSourceVaultId());
+            vaultIds.add(hold.getDestinationVaultId());
+            comicIds.add(hold.getComicId());
+        }
+        Map<Long, Vault> vaults = lockVaults(vaultIds);
+        InventoryRows rows = new InventoryRows(inventoryRepository.findAllByVaultIdsAndComicIds(vaultIds, comicIds));
+
+        // while a hold is active its source row can't be emptied and its destination can't be deleted,
+        // so both are always found
+        for (InventoryHold hold : holds) {
+            VaultInventory sourceRow = rows.get(hold.getSourceVaultId(), hold.getComicId());
+            sourceRow.setReservedQuantity(sourceRow.getReservedQuantity() - hold.getQuantity());
+            Vault destination = vaults.get(hold.getDestinationVaultId());
+            destination.setReservedCapacity(destination.getReservedCapacity() - hold.getQuantity());
+        }
+    }
+
+    // TreeSet keeps the vault ids sorted; the lock query takes them in that order
+    private Map<Long, Vault> lockVaults(Set<Long> vaultIds) {
+        Map<Long, Vault> vaults = new HashMap<>();
+        for (Vault vault : vaultRepository.findAllByIdForUpdate(new TreeSet<>(vaultIds))) {
+            vaults.put(vault.getId(), vault);
+        }
+        return vaults;
+    }
+
+    private Duration validTtl(Duration ttl) {
+        if (ttl == null) {
+            return defaultTtl;
+        }
+        if (ttl.isNegative() || ttl.isZero() || ttl.compareTo(maxTtl) > 0) {
+            throw new BadRequestException("Hold ttl must be positive and at most " + maxTtl);
+        }
+        return ttl;
+    }
+}
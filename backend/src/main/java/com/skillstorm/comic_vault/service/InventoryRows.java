@@ -0,0 +1,34 @@
+package com.skillstorm.comic_vault.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.skillstorm.comic_vault.model.VaultInventory;
+
+/**
+ * in-memory index of prefetched inventory records keyed by vault id + comic id
+ * 
+ * bulk operations load every row they might touch in one query, then look rows up here
+ * instead of running findByVaultIdAndComicId once per line
+ */
+class InventoryRows {
+
+    private final Map<Long, Map<Long, VaultInventory>> rowsByVault = new HashMap<>();
+
+    InventoryRows(List<VaultInventory> rows) {
+        for (VaultInventory row : rows) {
+            put(row);
+        }
+    }
+
+    VaultInventory get(Long vaultId, Long comicId) {
+        Map<Long, VaultInventory> rows = rowsByVault.get(vaultId);
+        return rows == null ? null : rows.get(comicId);
+    }
+
+    // getVault()/getComic() are lazy proxies here, but reading their ids doesn't load them
+    void put(VaultInventory row) {
+        rowsByVault.computeIfAbsent(row.getVault().getId(), id -> new HashMap<>()).put(row.getComic().getId(), row);
+    }
+}
@@ -0,0 +1,180 @@
+package com.skillstorm.comic_vault.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.skillstorm.comic_vault.dto.BulkInventoryLine;
+import com.skillstorm.comic_vault.dto.PlacementLine;
+import com.skillstorm.comic_vault.model.Vault;
+
+/**
+ * in-memory placement of a shipment across vaults (see PlacementService)
+ *
+ * greedy, largest quantity first. a comic first tops up the vaults that already hold it (most copies first),
+ * wherever they are, then goes to the vault whose free space fits the rest most tightly; when no vault fits it
+ * whole it fills the roomiest vault and carries on. tight fits keep the large gaps for the large lines that
+ * follow, and every comic ends up in as few vaults as possible. each group's free space is a TreeSet ordered
+ * by free space, so finding a vault is a log(vaults) lookup rather than a scan
+ *
+ * with groupByLocation the vaults are grouped by location. a comic's rest goes to the locations that already
+ * hold it first, then to the others roomiest first, and only spills into the next location when the current
+ * one is full; otherwise all vaults form one group
+ */
+class PlacementPlanner {
+
+    // ordered by free space, then id so vaults with equal space are still distinct entries
+    private static final Comparator<Slot> BY_FREE_SPACE = Comparator.comparingInt((Slot slot) -> slot.free).thenComparingLong(slot -> slot.vaultId);
+
+    private final List<TreeSet<Slot>> groups = new ArrayList<>();
+    // every vault's group, including full vaults, whose location still counts as holding their comics
+    private final Map<Long, Integer> groupOfVault = new HashMap<>();
+    private final Map<Long, Slot> slots = new HashMap<>();
+    // comic id -> vaults already holding it, most copies first
+    private final Map<Long, List<BulkInventoryLine>> holdings = new HashMap<>();
+
+    private final List<BulkInventoryLine> allocations = new ArrayList<>();
+    private final List<PlacementLine> unplaced = new ArrayList<>();
+    private int placedQuantity;
+    private int unplacedQuantity;
+
+    PlacementPlanner(List<Vault> vaults, List<BulkInventoryLine> existingRows, boolean groupByLocation) {
+        Map<String, List<Vault>> byLocation = new LinkedHashMap<>();
+        for (Vault vault : vaults) {
+            byLocation.computeIfAbsent(groupByLocation ? vault.getLocation() : "", location -> new ArrayList<>()).add(vault);
+        }
+
+        List<List<Vault>> ordered = new ArrayList<>(byLocation.values());
+        ordered.sort(Comparator.comparingLong((List<Vault> group) -> group.stream().mapToLong(vault -> Math.max(0, vault.getFreeCapacity())).sum()).reversed());
+        for (List<Vault> group : ordered) {
+            TreeSet<Slot> free = new TreeSet<>(BY_FREE_SPACE);
+            for (Vault vault : group) {
+                groupOfVault.put(vault.getId(), groups.size());
+                // full vaults (or ones whose space is all held for transfers) can't take anything
+                if (vault.getFreeCapacity() > 0) {
+                    Slot slot = new Slot(vault.getId(), vault.getFreeCapacity(), groups.size());
+                    slots.put(slot.vaultId, slot);
+                    free.add(slot);
+                }
+            }
+            groups.add(free);
+        }
+
+        for (BulkInventoryLine row : existingRows) {
+            holdings.computeIfAbsent(row.getComicId(), comicId -> new ArrayList<>()).add(row);
+        }
+        holdings.values().forEach(rows -> rows.sort(Comparator.comparingInt(BulkInventoryLine::getQuantity).reversed()));
+    }
+
+    // demand is the total quantity per comic; call once
+    void place(Map<Long, Integer> demand) {
+        List<Map.Entry<Long, Integer>> largestFirst = new ArrayList<>(demand.entrySet());
+        largestFirst.sort(Map.Entry.<Long, Integer>comparingByValue().reversed());
+
+        for (Map.Entry<Long, Integer> line : largestFirst) {
+            Long comicId = line.getKey();
+            int remaining = consolidate(comicId, line.getValue());
+            for (int group : groupOrder(comicId)) {
+                if (remaining == 0) {
+                    break;
+                }
+                remaining = bestFit(comicId, remaining, groups.get(group));
+            }
+            if (remaining > 0) {
+                unplaced.add(new PlacementLine(comicId, remaining));
+                unplacedQuantity += remaining;
+            }
+        }
+    }
+
+    // tops up the vaults that already hold the comic
+    private int consolidate(Long comicId, int remaining) {
+        for (BulkInventoryLine row : holdings.getOrDefault(comicId, List.of())) {
+            if (remaining == 0) {
+                break;
+            }
+            Slot slot = slots.get(row.getVaultId());
+            if (slot != null && slot.free > 0) {
+                remaining -= allocate(comicId, slot, Math.min(slot.free, remaining));
+            }
+        }
+        return remaining;
+    }
+
+    // the groups holding the comic (in the order of its holdings), then the rest roomiest first
+    private Set<Integer> groupOrder(Long comicId) {
+        Set<Integer> order = new LinkedHashSet<>();
+        for (BulkInventoryLine row : holdings.getOrDefault(comicId, List.of())) {
+            Integer group = groupOfVault.get(row.getVaultId());
+            if (group != null) {
+                order.add(group);
+            }
+        }
+        for (int group = 0; group < groups.size(); group++) {
+            order.add(group);
+        }
+        return order;
+    }
+
+    private int bestFit(Long comicId, int remaining, TreeSet<Slot> free) {
+        while (remaining > 0 && !free.isEmpty()) {
+            // smallest vault with room for all of it, otherwise the largest one
+            Slot slot = free.ceiling(new Slot(Long.MIN_VALUE, remaining, -1));
+            if (slot == null) {
+                slot = free.last();
+            }
+            remaining -= allocate(comicId, slot, Math.min(slot.free, remaining));
+        }
+        return remaining;
+    }
+
+    private int allocate(Long comicId, Slot slot, int quantity) {
+        // re-inserted with its new free space; a full vault leaves the set for good
+        TreeSet<Slot> free = groups.get(slot.group);
+        free.remove(slot);
+        slot.free -= quantity;
+        if (slot.free > 0) {
+            free.add(slot);
+        }
+
+        allocations.add(new BulkInventoryLine(slot.vaultId, comicId, quantity));
+        placedQuantity += quantity;
+        return quantity;
+    }
+
+    List<BulkInventoryLine> getAllocations() {
+        return allocations;
+    }
+
+    List<PlacementLine> getUnplaced() {
+        return unplaced;
+    }
+
+    int getPlacedQuantity() {
+        return placedQuantity;
+    }
+
+    int getUnplacedQuantity() {
+        return unplacedQuantity;
+    }
+
+    // a vault's free space while the plan is being made
+    private static final class Slot {
+
+        private final long vaultId;
+        private final int group;
+        private int free;
+
+        private Slot(long vaultId, int free, int group) {
+            this.vaultId = vaultId;
+            this.free = free;
+            this.group = group;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.skillstorm.comic_vault.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.skillstorm.comic_vault.dto.BulkInventoryLine;
+import com.skillstorm.comic_vault.dto.BulkInventoryRequest;
+import com.skillstorm.comic_vault.dto.BulkInventoryResponse;
+import com.skillstorm.comic_vault.dto.PlacementLine;
+import com.skillstorm.comic_vault.dto.PlacementResponse;
+import com.skillstorm.comic_vault.exception.BadRequestException;
+import com.skillstorm.comic_vault.exception.InvalidOperationException;
+import com.skillstorm.comic_vault.exception.ResourceNotFoundException;
+import com.skillstorm.comic_vault.repository.VaultInventoryRepository;
+import com.skillstorm.comic_vault.repository.VaultRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * proposes which vaults a shipment should go into, and optionally adds it there
+ *
+ * planning reads every vault's occupancy and the shipment's existing inventory rows up front, a few queries
+ * whatever the size of the shipment, and then allocates in memory (see PlacementPlanner)
+ */
+@Service
+@Timed(value = "comicvault.service", histogram = true)
+public class PlacementService {
+
+    // comic ids per "in (...)" lookup; keeps a 10k-line shipment under the database's bind parameter limit
+    private static final int COMIC_LOOKUP_SIZE = 1000;
+
+    private final VaultRepository vaultRepository;
+    private final VaultInventoryRepository inventoryRepository;
+    private final BulkInventoryService bulkInventoryService;
+
+    public PlacementService(VaultRepository vaultRepository, VaultInventoryRepository inventoryRepository,
+            BulkInventoryService bulkInventoryService) {
+        this.vaultRepository = vaultRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.bulkInventoryService = bulkInventoryService;
+    }
+
+    // lines of the same comic are placed together; nothing is written
+    @Transactional(readOnly = true)
+    public PlacementResponse plan(List<PlacementLine> lines, boolean groupByLocation) {
+        Map<Long, Integer> demand = new LinkedHashMap<>();
+        for (PlacementLine line : lines) {
+            int total = demand.getOrDefault(line.getComicId(), 0) + line.getQuantity();
+            if (total < 0) {
+                throw new BadRequestException("Total quantity of comic " + line.getComicId() + " is too large");
+            }
+            demand.put(line.getComicId(), total);
+        }
+
+        // the shipment's comics and the vaults already holding them, one query per chunk
+        List<Long> comicIds = new ArrayList<>(demand.keySet());
+        List<BulkInventoryLine> existingRows = new ArrayList<>();
+        Set<Long> existingComicIds = new HashSet<>();
+        for (int from = 0; from < comicIds.size(); from += COMIC_LOOKUP_SIZE) {
+            for (BulkInventoryLine row : inventoryRepository.findLinesByComicIds(comicIds.subList(from, Math.min(from + COMIC_LOOKUP_SIZE, comicIds.size())))) {
+                existingComicIds.add(row.getComicId());
+                if (row.getVaultId() != null) {
+                    existingRows.add(row);
+                }
+            }
+        }
+        for (Long comicId : comicIds) {
+            if (!existingComicIds.contains(comicId)) {
+                throw new ResourceNotFoundException("Comic not found with id: " + comicId);
+            }
+        }
+
+        PlacementPlanner planner = new PlacementPlanner(vaultRepository.findAll(), existingRows, groupByLocation);
+        planner.place(demand);
+        return new PlacementResponse(false, planner.getPlacedQuantity(), planner.getUnplacedQuantity(), planner.getAllocations(), planner.getUnplaced());
+    }
+
+    // adds a plan's allocations through the bulk path, which locks the vaults and checks their capacity again;
+    // if other writes took the space since the plan was made, nothing is added
+    public PlacementResponse commit(PlacementResponse plan) {
+        if (plan.getAllocations().isEmpty()) {
+            return plan;
+        }
+
+        BulkInventoryResponse result = bulkInventoryService.addComics(new BulkInventoryRequest(BulkInventoryRequest.Mode.ALL_OR_NOTHING, plan.getAllocations()));
+        if (result.getRejectedLines() > 0) {
+            throw new InvalidOperationException("Vault occupancy changed while the placement was planned, so nothing was added. Plan it again.");
+        }
+        plan.setCommitted(true);
+        return plan;
+    }
+}
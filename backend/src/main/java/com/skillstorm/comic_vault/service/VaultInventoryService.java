@@ -1,129 +1,197 @@
 package com.skillstorm.comic_vault.service;
 
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Optional;
-
+import java.util.UUID;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.skillstorm.comic_vault.config.CacheConfig;
+import com.skillstorm.comic_vault.dto.CollectionVersion;
+import com.skillstorm.comic_vault.dto.VaultInventoryItem;
+import com.skillstorm.comic_vault.exception.BadRequestException;
 import com.skillstorm.comic_vault.exception.InsufficientCapacityException;
 import com.skillstorm.comic_vault.exception.InsufficientQuantityException;
 import com.skillstorm.comic_vault.exception.InvalidOperationException;
 import com.skillstorm.comic_vault.exception.ResourceNotFoundException;
-import com.skillstorm.comic_vault.model.Comic;
+import com.skillstorm.comic_vault.model.InventoryMovement;
 import com.skillstorm.comic_vault.model.Vault;
 import com.skillstorm.comic_vault.model.VaultInventory;
-import com.skillstorm.comic_vault.repository.ComicRepository;
+import com.skillstorm.comic_vault.repository.InventoryMovementRepository;
 import com.skillstorm.comic_vault.repository.VaultInventoryRepository;
 import com.skillstorm.comic_vault.repository.VaultRepository;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed(value = "comicvault.service", histogram = true)    // one timer per public method, tagged with class and method
 public class VaultInventoryService {
     
     private final VaultInventoryRepository inventoryRepository;
     private final VaultRepository vaultRepository;
-    private final ComicRepository comicRepository;
+    private final InventoryMovementRepository movementRepository;
+    private final InventoryEventPublisher eventPublisher;
+    private final CapacityAlertService alertService;
 
-    public VaultInventoryService(VaultInventoryRepository inventoryRepository, VaultRepository vaultRepository, ComicRepository comicRepository) {
+    public VaultInventoryService(VaultInventoryRepository inventoryRepository, VaultRepository vaultRepository, InventoryMovementRepository movementRepository,
+            InventoryEventPublisher eventPublisher, CapacityAlertService alertService) {
         this.inventoryRepository = inventoryRepository;
         this.vaultRepository = vaultRepository;
-        this.comicRepository = comicRepository;
+        this.movementRepository = movementRepository;
+        this.eventPublisher = eventPublisher;
+        this.alertService = alertService;
     }
 
-    // get all inventory for a specific vault
-    public List<VaultInventory> getVaultInventory(Long vaultId) {
-        // verify vault exists
-        vaultRepository.findById(vaultId).orElseThrow(() -> new ResourceNotFoundException("Vault not found with id: " + vaultId));
+    // get one page of inventory for a specific vault (offset pagination, any sort)
+    @Transactional(readOnly = true)
+    public Slice<VaultInventoryItem> getVaultInventoryPage(Long vaultId, Pageable pageable) {
+        verifyVaultExists(vaultId);
 
-        // return list of vault inventories that match the vault id
-        return inventoryRepository.findByVaultId(vaultId);
+        return inventoryRepository.findItemsByVaultId(vaultId, pageable);
     }
 
-    // get a specific inventory item (vault + comic combo)
-    public Optional<VaultInventory> getInventoryItem(Long vaultId, Long comicId) {
-        return inventoryRepository.findByVaultIdAndComicId(vaultId, comicId);
-    }
+    // version of a vault's inventory listing for its ETag; includes the comics, whose sku, name and price are listed
+    @Transactional(readOnly = true)
+    public CollectionVersion getInventoryVersion(Long vaultId) {
+        verifyVaultExists(vaultId);
 
-    // add comic to vault (or update quantity if it already exists)
-    // @Transactional ensures that all database operations succeed or all fail together (atomicity);
-    // all changes roll back upon error/failure
-    @Transactional
-    public VaultInventory addComicToVault(Long vaultId, Long comicId, Integer quantity) {
-        // verify vault exists
-        Vault vault = vaultRepository.findById(vaultId).orElseThrow(() -> new ResourceNotFoundException("Vault not found with id: " + vaultId));
+        return inventoryRepository.findInventoryVersion(vaultId);
+    }
 
-        // verify comic exists
-        Comic comic = comicRepository.findById(comicId).orElseThrow(() -> new ResourceNotFoundException("Comic not found with id: " + comicId));
+    // get the next inventory records of a vault after a cursor (keyset pagination)
+    // orderBy is "id" (inventory id) or "sku" (comic SKU); a null cursor starts from the beginning
+    @Transactional(readOnly = true)
+    public Slice<VaultInventoryItem> getVaultInventoryAfter(Long vaultId, String after, String orderBy, int size) {
+        verifyVaultExists(vaultId);
 
-        // check if comic already exists in this vault
-        Optional<VaultInventory> existingInventory = inventoryRepository.findByVaultIdAndComicId(vaultId, comicId);
+        if ("sku".equals(orderBy)) {
+            // "c" is the comic join alias in the repository queries
+            PageRequest request = PageRequest.of(0, size, Sort.by("c.sku"));
+            return after == null ? inventoryRepository.findItemsByVaultId(vaultId, request) : inventoryRepository.findItemsByVaultIdAfterSku(vaultId, after, request);
+        }
+        if (!"id".equals(orderBy)) {
+            throw new BadRequestException("orderBy must be 'id' or 'sku'");
+        }
 
-        // if comic does exist in specified vault
-        if (existingInventory.isPresent()) {
-            // inventory exists -> update existing quantity
-            VaultInventory inventory = existingInventory.get();
-            int newQuantity = inventory.getQuantity() + quantity;
+        PageRequest request = PageRequest.of(0, size, Sort.by("id"));
+        return after == null ? inventoryRepository.findItemsByVaultId(vaultId, request) : inventoryRepository.findItemsByVaultIdAfterId(vaultId, Long.valueOf(after), request);
+    }
 
-            // check if vault capacity has been reached
-            if (getCurrentVaultTotal(vaultId) + quantity > vault.getMaxCapacity()) {
-                throw new InsufficientCapacityException("Adding " + quantity + " would exceed vault capacity. " + "Available space: " + (vault.getMaxCapacity() - getCurrentVaultTotal(vaultId)));
-            }
+    private void verifyVaultExists(Long vaultId) {
+        if (!vaultRepository.existsById(vaultId)) {
+            throw new ResourceNotFoundException("Vault not found with id: " + vaultId);
+        }
+    }
 
-            inventory.setQuantity(newQuantity);
-            return inventoryRepository.save(inventory);
-        } else {
-            // inventory doesn't exist -> create new inventory record
+    // get a specific inventory item (vault + comic combo)
+    @Transactional(readOnly = true)
+    public Optional<VaultInventoryItem> getInventoryItem(Long vaultId, Long comicId) {
+        return inventoryRepository.findByVaultIdAndComicId(vaultId, comicId).map(VaultInventoryItem::from);
+    }
 
-            // check capacity
-            if (getCurrentVaultTotal(vaultId) + quantity > vault.getMaxCapacity()) {
-                throw new InsufficientCapacityException("Adding " + quantity + " would exceed vault capacity. " + "Available space: " + (vault.getMaxCapacity() - getCurrentVaultTotal(vaultId)));
-            }
+    // add comic to vault (or update quantity if it already exists)
+    // @Transactional ensures that all database operations succeed or all fail together (atomicity);
+    // all changes roll back upon error/failure
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.VAULTS, key = "#vaultId")    // currentTotal changes
+    public VaultInventoryItem addComicToVault(Long vaultId, Long comicId, Integer quantity) {
+        // capacity check and running total increment in one conditional UPDATE; it also locks the vault
+        // row, so concurrent adds can't both pass the check
+        if (vaultRepository.addToCurrentTotalIfFits(vaultId, quantity, LocalDateTime.now()) == 0) {
+            // nothing updated -> the vault is missing or full, only now pay for a lookup to say which
+            Vault vault = vaultRepository.findById(vaultId).orElseThrow(() -> new ResourceNotFoundException("Vault not found with id: " + vaultId));
+            throw new InsufficientCapacityException("Adding " + quantity + " would exceed vault capacity. " + "Available space: " + vault.getFreeCapacity());
+        }
 
-            VaultInventory newInventory = new VaultInventory(vault, comic, quantity);
-            return inventoryRepository.save(newInventory);
+        // insert the record or add to its quantity in one statement; no read-then-insert race on (vault_id, comic_id)
+        // the comic foreign key doubles as the "comic exists" check, the occupancy increment rolls back with it
+        try {
+            inventoryRepository.upsertQuantity(vaultId, comicId, quantity);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResourceNotFoundException("Comic not found with id: " + comicId);
         }
+        movementRepository.save(new InventoryMovement(vaultId, comicId, quantity, InventoryMovement.Reason.ADD, null));
+
+        VaultInventoryItem item = inventoryRepository.findItem(vaultId, comicId).orElseThrow();
+        // the conditional update above didn't load the vault; read its new total (the row is already locked)
+        Vault vault = vaultRepository.findById(vaultId).orElseThrow();
+        eventPublisher.inventoryChanged(vault, comicId, quantity, item.getQuantity(), InventoryMovement.Reason.ADD, null);
+        alertService.evaluate(vault);
+        return item;
     }
 
     // helper function: get vault's current total quantity
+    // reads the running total kept on the vault instead of summing every inventory row
     public int getCurrentVaultTotal(Long vaultId) {
-        List<VaultInventory> inventories = inventoryRepository.findByVaultId(vaultId);
-        int total = 0;
-        for (VaultInventory inventory : inventories) {
-            total += inventory.getQuantity();
-        }
-        return total;
+        return vaultRepository.findById(vaultId).map(Vault::getCurrentTotal).orElse(0);
     }
 
     // update quantity of a comic in a vault
     @Transactional
-    public VaultInventory updateQuantity(Long vaultId, Long comicId, Integer newQuantity) {
+    @CacheEvict(cacheNames = CacheConfig.VAULTS, key = "#vaultId")    // currentTotal changes
+    public VaultInventoryItem updateQuantity(Long vaultId, Long comicId, Integer newQuantity) {
+        // lock the vault before reading its inventory so the capacity check sees the latest totals
+        Vault vault = vaultRepository.findByIdForUpdate(vaultId).orElseThrow(() -> new ResourceNotFoundException("Vault not found with id: " + vaultId));
+
         // check if inventory record exists
         VaultInventory inventory = inventoryRepository.findByVaultIdAndComicId(vaultId, comicId).orElseThrow(() -> new ResourceNotFoundException("Inventory record not found for Vault ID: " + vaultId + " and Comic ID: " + comicId));
 
-        // get vault to check capacity
-        Vault vault = vaultRepository.findById(vaultId).orElseThrow(() -> new ResourceNotFoundException("Vault not found with id: " + vaultId));
+        // held copies have to stay until their holds are committed or released
+        if (newQuantity < inventory.getReservedQuantity()) {
+            throw new InsufficientQuantityException("Cannot set quantity to " + newQuantity + ". " + inventory.getReservedQuantity() + " comics are held for pending transfers.");
+        }
 
         // calculate new total of vault if quantity is changed
-        int currentTotal = getCurrentVaultTotal(vaultId);
+        int currentTotal = vault.getCurrentTotal();
         int newTotal = currentTotal - inventory.getQuantity() + newQuantity;
 
-        // check capacity
-        if (newTotal > vault.getMaxCapacity()) {
+        // check capacity, counting space held for incoming transfers as used
+        if (newTotal + vault.getReservedCapacity() > vault.getMaxCapacity()) {
             throw new InsufficientCapacityException("New quantity would exceed vault capacity. " +
                 "Max capacity: " + vault.getMaxCapacity() +
                 ", Current vault total: " + currentTotal +
+                ", Held for incoming transfers: " + vault.getReservedCapacity() +
                 ", Current comic total: " + inventory.getQuantity());
         }
 
+        if (newQuantity != inventory.getQuantity().intValue()) {
+            movementRepository.save(new InventoryMovement(vaultId, comicId, newQuantity - inventory.getQuantity(), InventoryMovement.Reason.ADJUST, null));
+        }
+
+        int delta = newQuantity - inventory.getQuantity();
         inventory.setQuantity(newQuantity);
-        return inventoryRepository.save(inventory);
+        vault.setCurrentTotal(newTotal);
+        if (delta != 0) {
+            eventPublisher.inventoryChanged(vault, comicId, delta, newQuantity, InventoryMovement.Reason.ADJUST, null);
+            alertService.evaluate(vault);
+        }
+        return VaultInventoryItem.from(inventoryRepository.save(inventory));
     }
 
     // remove comic form vault
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.VAULTS, key = "#vaultId")    // currentTotal changes
     public void removeFromVault(Long vaultId, Long comicId) {
+        Vault vault = vaultRepository.findByIdForUpdate(vaultId).orElseThrow(() -> new ResourceNotFoundException("Vault not found with id: " + vaultId));
+
         VaultInventory inventory = inventoryRepository.findByVaultIdAndComicId(vaultId, comicId).orElseThrow(() -> new ResourceNotFoundException("Inventory record not found for Vault ID: " + vaultId + " and Comic ID: " + comicId));
+        if (inventory.getReservedQuantity() > 0) {
+            throw new InvalidOperationException("Cannot remove comic " + comicId + " from vault " + vaultId + ". " + inventory.getReservedQuantity() + " comics are held for pending transfers.");
+        }
+
+        // give the removed quantity back to the vault's running total
+        vault.setCurrentTotal(vault.getCurrentTotal() - inventory.getQuantity());
+        movementRepository.save(new InventoryMovement(vaultId, comicId, -inventory.getQuantity(), InventoryMovement.Reason.REMOVE, null));
+        eventPublisher.inventoryChanged(vault, comicId, -inventory.getQuantity(), 0, InventoryMovement.Reason.REMOVE, null);
+        alertService.evaluate(vault);
 
         inventoryRepository.delete(inventory);
     }
@@ -142,36 +210,40 @@ public class VaultInventoryService {
 
     // transfer comic between vaults
     @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.VAULTS, key = "#sourceVaultId"),
+        @CacheEvict(cacheNames = CacheConfig.VAULTS, key = "#destinationVaultId")
+    })
     public void transferComicBetweenVaults(Long sourceVaultId, Long destinationVaultId, Long comicId, Integer quantity) {
         // validate that source and destination are different
         if (sourceVaultId.equals(destinationVaultId)) {
             throw new InvalidOperationException("Cannot transfer to the same vault. Source and destination must be different.");
         }
 
-        // validate source vault exists
-        Vault sourceVault = vaultRepository.findById(sourceVaultId)
-                .orElseThrow(() -> new ResourceNotFoundException("Source vault not found with id: " + sourceVaultId));
-
-        // validate destination vault exists
-        Vault destinationVault = vaultRepository.findById(destinationVaultId)
-                .orElseThrow(() -> new ResourceNotFoundException("Destination vault not found with id: " + destinationVaultId));
-
-        // validate comic exists
-        Comic comic = comicRepository.findById(comicId)
-                .orElseThrow(() -> new ResourceNotFoundException("Comic not found with id: " + comicId));
+        // lock both vaults, always lower id first, so two opposite transfers can't deadlock
+        // validates that source and destination vaults exist
+        Vault sourceVault;
+        Vault destinationVault;
+        if (sourceVaultId < destinationVaultId) {
+            sourceVault = lockSourceVault(sourceVaultId);
+            destinationVault = lockDestinationVault(destinationVaultId);
+        } else {
+            destinationVault = lockDestinationVault(destinationVaultId);
+            sourceVault = lockSourceVault(sourceVaultId);
+        }
 
-        // validate source has the comic
+        // validate source has the comic (which also proves the comic exists)
         VaultInventory sourceInventory = inventoryRepository.findByVaultIdAndComicId(sourceVaultId, comicId)
                 .orElseThrow(() -> new ResourceNotFoundException("Comic with id " + comicId + " not found in source vault " + sourceVaultId));
 
-        // validate source has sufficient quantity
-        if (sourceInventory.getQuantity() < quantity) {
-            throw new InsufficientQuantityException("Source vault only has " + sourceInventory.getQuantity() + " comics available, cannot transfer " + quantity);
+        // validate source has sufficient quantity that isn't held for another transfer
+        if (sourceInventory.getAvailableQuantity() < quantity) {
+            throw new InsufficientQuantityException("Source vault only has " + sourceInventory.getAvailableQuantity() + " comics available, cannot transfer " + quantity);
         }
 
-        // validate destination has capacity
-        int destCurrentTotal = getCurrentVaultTotal(destinationVaultId);
-        int destAvailableCapacity = destinationVault.getMaxCapacity() - destCurrentTotal;
+        // validate destination has capacity that isn't held for another transfer
+        int destCurrentTotal = destinationVault.getCurrentTotal();
+        int destAvailableCapacity = destinationVault.getFreeCapacity();
         if (destAvailableCapacity < quantity) {
             throw new InsufficientCapacityException("Destination vault only has " + destAvailableCapacity + " available capacity, cannot transfer " + quantity + " comics");
         }
@@ -187,18 +259,34 @@ public class VaultInventoryService {
             inventoryRepository.save(sourceInventory);
         }
 
-        // update destination inventory
-        Optional<VaultInventory> destInventoryOptional = inventoryRepository.findByVaultIdAndComicId(destinationVaultId, comicId);
-        if (destInventoryOptional.isPresent()) {
-            // comic already exists in destination -> update quantity
-            VaultInventory destInventory = destInventoryOptional.get();
-            destInventory.setQuantity(destInventory.getQuantity() + quantity);
-            inventoryRepository.save(destInventory);
-        } else {
-            // comic doesn't exist in destination -> create new record
-            VaultInventory newDestInventory = new VaultInventory(destinationVault, comic, quantity);
-            inventoryRepository.save(newDestInventory);
+        // update destination inventory: add to the existing record or create it, in one statement
+        inventoryRepository.upsertQuantity(destinationVaultId, comicId, quantity);
+
+        // move the quantity between the vaults' running totals
+        sourceVault.setCurrentTotal(sourceVault.getCurrentTotal() - quantity);
+        destinationVault.setCurrentTotal(destCurrentTotal + quantity);
+
+        // both sides of the transfer share one correlation id in the ledger
+        UUID transferId = UUID.randomUUID();
+        movementRepository.save(new InventoryMovement(sourceVaultId, comicId, -quantity, InventoryMovement.Reason.TRANSFER_OUT, transferId));
+        movementRepository.save(new InventoryMovement(destinationVaultId, comicId, quantity, InventoryMovement.Reason.TRANSFER_IN, transferId));
+        eventPublisher.inventoryChanged(sourceVault, comicId, -quantity, newSourceQuantity, InventoryMovement.Reason.TRANSFER_OUT, transferId);
+        if (eventPublisher.isListening()) {
+            int destinationQuantity = inventoryRepository.findItem(destinationVaultId, comicId).orElseThrow().getQuantity();
+            eventPublisher.inventoryChanged(destinationVault, comicId, quantity, destinationQuantity, InventoryMovement.Reason.TRANSFER_IN, transferId);
         }
+        alertService.evaluate(sourceVault);
+        alertService.evaluate(destinationVault);
+    }
+
+    private Vault lockSourceVault(Long sourceVaultId) {
+        return vaultRepository.findByIdForUpdate(sourceVaultId)
+                .orElseThrow(() -> new ResourceNotFoundException("Source vault not found with id: " + sourceVaultId));
+    }
+
+    private Vault lockDestinationVault(Long destinationVaultId) {
+        return vaultRepository.findByIdForUpdate(destinationVaultId)
+                .orElseThrow(() -> new ResourceNotFoundException("Destination vault not found with id: " + destinationVaultId));
     }
 
 }
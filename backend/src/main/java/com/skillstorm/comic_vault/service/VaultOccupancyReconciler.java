@@ -0,0 +1,70 @@
+package com.skillstorm.comic_vault.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.skillstorm.comic_vault.config.CacheConfig;
+import com.skillstorm.comic_vault.model.Vault;
+import com.skillstorm.comic_vault.repository.VaultInventoryRepository;
+import com.skillstorm.comic_vault.repository.VaultRepository;
+
+/**
+ * periodically checks each vault's maintained currentTotal against the real sum of its inventory
+ * 
+ * every inventory mutation keeps the counter up to date, so this should normally find nothing;
+ * it also backfills the counter on the first run after upgrading an existing database
+ */
+@Service
+public class VaultOccupancyReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(VaultOccupancyReconciler.class);
+
+    private final VaultRepository vaultRepository;
+    private final VaultInventoryRepository inventoryRepository;
+    private final CapacityAlertService alertService;
+
+    public VaultOccupancyReconciler(VaultRepository vaultRepository, VaultInventoryRepository inventoryRepository, CapacityAlertService alertService) {
+        this.vaultRepository = vaultRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.alertService = alertService;
+    }
+
+    // runs once at startup and then every reconcile-interval (default 15 minutes)
+    // returns the number of vaults that had to be corrected
+    @Scheduled(fixedDelayString = "${comic-vault.occupancy.reconcile-interval:PT15M}")
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.VAULTS, allEntries = true)    // touches the currentTotal of many vaults
+    public int reconcile() {
+        // one query finds every candidate; matching vaults are never loaded. the candidates come in
+        // ascending id order and are locked in that order, same as transfers, so the two can't deadlock
+        List<Long> candidateIds = vaultRepository.findIdsWithOccupancyDrift();
+
+        int corrected = 0;
+        for (Long vaultId : candidateIds) {
+            // lock the vault so in-flight inventory mutations finish before the sum is taken
+            Vault vault = vaultRepository.findByIdForUpdate(vaultId).orElse(null);
+            if (vault != null && correct(vault)) {
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+
+    // the unlocked query may have caught a mutation half way; only the locked sum decides
+    private boolean correct(Vault vault) {
+        int actualTotal = inventoryRepository.sumQuantityByVaultId(vault.getId());
+        if (actualTotal == vault.getCurrentTotal()) {
+            return false;
+        }
+        log.warn("Vault {} occupancy drifted: recorded {}, actual {}. Correcting.", vault.getId(), vault.getCurrentTotal(), actualTotal);
+        vault.setCurrentTotal(actualTotal);
+        alertService.evaluate(vault);
+        return true;
+    }
+}
@@ -3,71 +3,132 @@ package com.skillstorm.comic_vault.service;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.skillstorm.comic_vault.config.CacheConfig;
+import com.skillstorm.comic_vault.dto.CollectionVersion;
+import com.skillstorm.comic_vault.dto.VaultSummary;
 import com.skillstorm.comic_vault.exception.InvalidOperationException;
 import com.skillstorm.comic_vault.exception.ResourceNotFoundException;
 import com.skillstorm.comic_vault.model.Vault;
 import com.skillstorm.comic_vault.repository.VaultRepository;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
+@Timed(value = "comicvault.service", histogram = true)
 public class VaultService {
     
     private final VaultRepository vaultRepository;
     private final VaultInventoryService inventoryService;
+    private final InventoryEventPublisher eventPublisher;
+    private final CapacityAlertService alertService;
 
     // constructor injection for VaultRepository bean
-    public VaultService(VaultRepository vaultRepository, VaultInventoryService inventoryService) {
+    public VaultService(VaultRepository vaultRepository, VaultInventoryService inventoryService, InventoryEventPublisher eventPublisher,
+            CapacityAlertService alertService) {
         this.vaultRepository = vaultRepository;
         this.inventoryService = inventoryService;
+        this.eventPublisher = eventPublisher;
+        this.alertService = alertService;
+    }
+
+    // get one page of vaults (offset pagination, any sort)
+    @Transactional(readOnly = true)
+    public Slice<Vault> getVaultPage(Pageable pageable) {
+        return vaultRepository.findAllBy(pageable);
+    }
+
+    // get the next vaults after a cursor id (keyset pagination); a null cursor starts from the beginning
+    @Transactional(readOnly = true)
+    public Slice<Vault> getVaultsAfter(Long after, int size) {
+        PageRequest request = PageRequest.of(0, size, Sort.by("id"));
+        return after == null ? vaultRepository.findAllBy(request) : vaultRepository.findByIdGreaterThan(after, request);
     }
 
-    // get all vaults
-    public List<Vault> getAllVaults() {
-        return vaultRepository.findAll();
+    // version of the vault list for its ETag (every inventory write bumps its vault's updatedAt)
+    @Transactional(readOnly = true)
+    public CollectionVersion getVaultsVersion() {
+        return vaultRepository.findVaultsVersion();
+    }
+
+    // get capacity summary (totals, distinct comics, percentage) for every vault
+    @Transactional(readOnly = true)
+    public List<VaultSummary> getVaultSummaries() {
+        return vaultRepository.findAllSummaries();
     }
 
     // get vault by ID - returns Optional -> handled by Controller
+    // cached; inventory writes evict the vault too since they change its currentTotal
+    @Cacheable(cacheNames = CacheConfig.VAULTS, key = "#id", unless = "#result == null")
     public Optional<Vault> getVaultById(Long id) {
         return vaultRepository.findById(id);
     }
 
     // create new vault
     public Vault createVault(Vault vault) {
-        return vaultRepository.save(vault);
+        alertService.validateThresholds(vault);
+        Vault created = vaultRepository.save(vault);
+        eventPublisher.vaultChanged(created);
+        return created;
     }
 
     // update existing vault
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.VAULTS, key = "#id")
     public Vault updateVault(Long id, Vault vaultDetails) {
         // unwraps the Optional to a Vault if found; otherwise throws exception
-        Vault vault = vaultRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Vault not found with id: " + id));
+        // locked so the capacity can't be lowered underneath a concurrent inventory add
+        Vault vault = vaultRepository.findByIdForUpdate(id).orElseThrow(() -> new ResourceNotFoundException("Vault not found with id: " + id));
 
-        // validate that new max capacity is not less than current inventory total
-        int currentTotal = inventoryService.getCurrentVaultTotal(id);
-        if (vaultDetails.getMaxCapacity() < currentTotal) {
+        // validate that new max capacity is not less than current inventory total plus what holds have set aside
+        int currentTotal = vault.getCurrentTotal();
+        if (vaultDetails.getMaxCapacity() < currentTotal + vault.getReservedCapacity()) {
             throw new InvalidOperationException("Cannot set max capacity to " + vaultDetails.getMaxCapacity() +
-                ". Vault currently contains " + currentTotal + " comics.");
+                ". Vault currently contains " + currentTotal + " comics" +
+                (vault.getReservedCapacity() > 0 ? " and holds space for " + vault.getReservedCapacity() + " more." : "."));
         }
 
         // update vault object with new vaultDetails
         vault.setName(vaultDetails.getName());
         vault.setLocation(vaultDetails.getLocation());
         vault.setMaxCapacity(vaultDetails.getMaxCapacity());
+        vault.setWarningThreshold(vaultDetails.getWarningThreshold());
+        vault.setCriticalThreshold(vaultDetails.getCriticalThreshold());
+        alertService.validateThresholds(vault);
 
+        eventPublisher.vaultChanged(vault);
+        // a new capacity or threshold can raise or clear the vault's alert
+        alertService.evaluate(vault);
         return vaultRepository.save(vault);
     }
 
     // delete existing vault
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.VAULTS, key = "#id")
     public void deleteVault(Long id) {
         // unwraps the Optional to a Vault if found; otherwise throws exception
-        Vault vault = vaultRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Vault not found with id: " + id));
+        // locked so no inventory can be added between the check below and the delete
+        Vault vault = vaultRepository.findByIdForUpdate(id).orElseThrow(() -> new ResourceNotFoundException("Vault not found with id: " + id));
 
         // check if vault has an existing inventory
         if (inventoryService.vaultHasInventory(id)) {
             throw new InvalidOperationException("Cannot delete vault with existing inventory. Please empty the vault first.");
         }
+        // the destination of pending transfers
+        if (vault.getReservedCapacity() > 0) {
+            throw new InvalidOperationException("Cannot delete vault with active holds for incoming transfers. Release them first.");
+        }
 
         vaultRepository.delete(vault);
+        eventPublisher.vaultDeleted(id);
     }
 
 }
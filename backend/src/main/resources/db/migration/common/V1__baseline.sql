@@ -0,0 +1,118 @@
+-- schema as the entities defined it when migrations took over from hibernate's ddl-auto
+-- kept to SQL that both PostgreSQL and H2 (tests) accept; enums are varchar + check like hibernate generates them
+
+create sequence comic_seq start with 1 increment by 50;
+create sequence vault_seq start with 1 increment by 50;
+create sequence vault_inventory_seq start with 1 increment by 50;
+create sequence inventory_movement_seq start with 1 increment by 50;
+create sequence comic_import_error_seq start with 1 increment by 50;
+
+create table comic (
+    id bigint not null,
+    sku varchar(50) not null,
+    name varchar(150) not null,
+    description varchar(1000),
+    price numeric(10, 2),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    constraint pk_comic primary key (id),
+    constraint uk_comic_sku unique (sku)
+);
+
+create table vault (
+    id bigint not null,
+    name varchar(100) not null,
+    location varchar(255) not null,
+    max_capacity integer not null check (max_capacity >= 1),
+    current_total integer default 0 not null,
+    warning_threshold integer check (warning_threshold between 1 and 100),
+    critical_threshold integer check (critical_threshold between 1 and 100),
+    alert_level varchar(10) default 'NONE' not null check (alert_level in ('NONE', 'WARNING', 'CRITICAL')),
+    version bigint default 0 not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    constraint pk_vault primary key (id),
+    constraint uk_vault_name unique (name)
+);
+
+create table vault_inventory (
+    id bigint not null,
+    vault_id bigint not null,
+    comic_id bigint not null,
+    quantity integer not null check (quantity >= 0),
+    version bigint default 0 not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    constraint pk_vault_inventory primary key (id),
+    constraint uk_vault_inventory_vault_comic unique (vault_id, comic_id),
+    constraint fk_vault_inventory_vault foreign key (vault_id) references vault (id),
+    constraint fk_vault_inventory_comic foreign key (comic_id) references comic (id)
+);
+
+create table capacity_alert (
+    vault_id bigint not null,
+    level varchar(10) not null check (level in ('NONE', 'WARNING', 'CRITICAL')),
+    threshold integer not null,
+    raised_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    constraint pk_capacity_alert primary key (vault_id)
+);
+
+-- inventory history (append-only ledger + periodic snapshots)
+create table inventory_movement (
+    id bigint not null,
+    vault_id bigint not null,
+    comic_id bigint not null,
+    quantity_delta integer not null,
+    reason varchar(20) not null check (reason in ('ADD', 'ADJUST', 'REMOVE', 'TRANSFER_OUT', 'TRANSFER_IN')),
+    transfer_id uuid,
+    occurred_at timestamp(6) not null,
+    constraint pk_inventory_movement primary key (id)
+);
+
+create index idx_movement_vault_time on inventory_movement (vault_id, occurred_at);
+create index idx_movement_time on inventory_movement (occurred_at);
+
+create table inventory_snapshot (
+    id bigint generated by default as identity,
+    taken_at timestamp(6) not null,
+    constraint pk_inventory_snapshot primary key (id),
+    constraint uk_inventory_snapshot_taken_at unique (taken_at)
+);
+
+create table inventory_snapshot_line (
+    snapshot_id bigint not null,
+    vault_id bigint not null,
+    comic_id bigint not null,
+    quantity integer not null,
+    -- column order as ddl-auto created it on existing databases; V2 adds the (snapshot_id, vault_id) lookup
+    constraint pk_inventory_snapshot_line primary key (comic_id, snapshot_id, vault_id)
+);
+
+-- catalog imports
+create table comic_import_job (
+    id bigint generated by default as identity,
+    format varchar(10) not null check (format in ('CSV', 'NDJSON')),
+    status varchar(10) not null check (status in ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED')),
+    file_size bigint not null,
+    bytes_read bigint not null,
+    processed_rows bigint not null,
+    imported_rows bigint not null,
+    duplicate_rows bigint not null,
+    failed_rows bigint not null,
+    error varchar(1000),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    constraint pk_comic_import_job primary key (id)
+);
+
+create table comic_import_error (
+    id bigint not null,
+    job_id bigint not null,
+    row_num bigint not null,
+    sku varchar(50),
+    message varchar(1000) not null,
+    constraint pk_comic_import_error primary key (id)
+);
+
+create index idx_import_error_job_row on comic_import_error (job_id, row_num);
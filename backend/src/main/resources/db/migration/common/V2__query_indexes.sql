@@ -0,0 +1,17 @@
+-- indexes behind the repository queries that ddl-auto never created
+-- if not exists: a few of these may already have been added by hand on databases that predate migrations
+
+-- existsByComicId (comic delete guard) and the comic side of the foreign key;
+-- the (vault_id, comic_id) unique constraint only serves lookups that lead with vault_id
+create index if not exists idx_vault_inventory_comic on vault_inventory (comic_id);
+
+-- a vault's inventory pages in id order (findItemsByVaultId, findItemsByVaultIdAfterId) and
+-- sumQuantityByVaultId: the cursor range and the joined comic_id / summed quantity all come from the index.
+-- costs an index write on every quantity change, which the listing reads are worth
+create index if not exists idx_vault_inventory_vault_page on vault_inventory (vault_id, id, comic_id, quantity);
+
+-- catalog ETag (findCatalogVersion reads max(updated_at)) and changed-since scans
+create index if not exists idx_comic_updated_at on comic (updated_at);
+
+-- findPositions: a vault's lines in one snapshot; the primary key leads with comic_id
+create index if not exists idx_snapshot_line_snapshot_vault on inventory_snapshot_line (snapshot_id, vault_id);
@@ -0,0 +1,32 @@
+-- inventory holds (InventoryHoldService): stock held in a source vault and capacity held in a destination
+-- vault until the hold is committed as a transfer, released or expires
+
+-- running sums of the active holds, maintained under the vault row locks like current_total:
+-- a comic's available-to-promise is quantity - reserved_quantity, a vault's free space is
+-- max_capacity - current_total - reserved_capacity
+alter table vault add column reserved_capacity integer default 0 not null;
+alter table vault add constraint ck_vault_reserved_capacity check (reserved_capacity >= 0);
+
+alter table vault_inventory add column reserved_quantity integer default 0 not null;
+alter table vault_inventory add constraint ck_vault_inventory_reserved_quantity check (reserved_quantity between 0 and quantity);
+
+create sequence inventory_hold_seq start with 1 increment by 50;
+
+-- plain ids, not foreign keys: closed holds stay readable after their vaults or comic are deleted,
+-- and the reserved counters already keep the rows of active holds from going away
+create table inventory_hold (
+    id bigint not null,
+    source_vault_id bigint not null,
+    destination_vault_id bigint not null,
+    comic_id bigint not null,
+    quantity integer not null check (quantity >= 1),
+    status varchar(10) not null check (status in ('ACTIVE', 'COMMITTED', 'RELEASED', 'EXPIRED')),
+    expires_at timestamp(6) not null,
+    created_at timestamp(6) not null,
+    closed_at timestamp(6),
+    constraint pk_inventory_hold primary key (id)
+);
+
+-- the expiry sweep reads the active holds due now and the purge the closed ones past retention,
+-- each a range of this index, however many holds are open
+create index idx_hold_status_expiry on inventory_hold (status, expires_at);
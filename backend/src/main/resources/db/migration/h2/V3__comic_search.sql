@@ -0,0 +1,2 @@
+-- comic search: H2 has no tsvector or expression indexes, so ComicSearchRepositoryImpl's LIKE fallback
+-- runs without them. kept so both vendors share version numbers
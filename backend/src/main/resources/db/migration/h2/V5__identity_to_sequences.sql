@@ -0,0 +1,2 @@
+-- identity to sequence conversion: only PostgreSQL databases created by ddl-auto need it, and an H2 database
+-- always starts from V1. kept so both vendors share version numbers
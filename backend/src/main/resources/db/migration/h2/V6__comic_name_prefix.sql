@@ -0,0 +1,2 @@
+-- comic search name prefix index: H2 has no expression indexes, so ComicSearchRepositoryImpl's LIKE fallback
+-- runs without it. kept so both vendors share version numbers
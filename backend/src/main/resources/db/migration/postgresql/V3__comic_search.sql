@@ -0,0 +1,14 @@
+-- comic search (ComicSearchRepositoryImpl); PostgreSQL only, other databases use its LIKE fallback
+-- if not exists: databases that predate migrations already got these from the old startup runner
+
+-- stored, so matching and ranking read the vector instead of re-parsing the text of every candidate;
+-- sku and name weigh more (A) than the description (B) when ranking. adding it rewrites the table once
+alter table comic add column if not exists search_vector tsvector generated always as (
+    setweight(to_tsvector('simple', coalesce(sku, '') || ' ' || coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'B')) stored;
+
+-- full-text match
+create index if not exists idx_comic_search on comic using gin (search_vector);
+
+-- case-insensitive SKU prefix match; text_pattern_ops lets LIKE 'abc%' use the btree whatever the collation
+create index if not exists idx_comic_sku_lower on comic (lower(sku) text_pattern_ops);
@@ -0,0 +1,23 @@
+-- ids from sequences (V1) for databases created by ddl-auto before migrations existed: those were baselined
+-- as V1 with identity id columns and no sequences. on any other database this changes nothing
+-- - the sequence is created if missing
+-- - it is moved past the highest id, never back (hibernate's pooled ids run up to the value it returns)
+-- - the identity default is dropped so the entities' ids are the only ones
+
+create sequence if not exists vault_inventory_seq increment by 50;
+select setval('vault_inventory_seq', m.id + 50)
+from (select max(id) as id from vault_inventory) m
+where m.id + 50 > (select last_value from vault_inventory_seq);
+alter table vault_inventory alter column id drop identity if exists;
+
+create sequence if not exists comic_seq increment by 50;
+select setval('comic_seq', m.id + 50)
+from (select max(id) as id from comic) m
+where m.id + 50 > (select last_value from comic_seq);
+alter table comic alter column id drop identity if exists;
+
+create sequence if not exists vault_seq increment by 50;
+select setval('vault_seq', m.id + 50)
+from (select max(id) as id from vault) m
+where m.id + 50 > (select last_value from vault_seq);
+alter table vault alter column id drop identity if exists;
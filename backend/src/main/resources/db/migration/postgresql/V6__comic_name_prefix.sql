@@ -0,0 +1,3 @@
+-- comic search (ComicSearchRepositoryImpl): name prefix matches are read in name order from this index, so
+-- they come before the capped, ranked text matches without scanning every match
+create index if not exists idx_comic_name_lower on comic (lower(name) text_pattern_ops);
@@ -0,0 +1,21 @@
+package com.skillstorm.comic_vault;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * wipes the test database before migrating it, so every application context (test classes, load test
+ * and benchmark runs) starts from an empty schema the way ddl-auto create-drop used to give it
+ */
+@Configuration
+class CleanMigrationConfig {
+
+    @Bean
+    FlywayMigrationStrategy cleanMigrationStrategy() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
@@ -0,0 +1,198 @@
+package com.skillstorm.comic_vault.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * the replica routing rules, on a primary and a replica H2 pool that each answer with their own name;
+ * reads are opened the way ReplicaReadAspect opens them, and requests run through ReplicaRoutingFilter
+ */
+class ReplicaRoutingTests {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private MeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource routing;
+    private ReplicaRoutingFilter filter;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = pool("primary");
+        replica = pool("replica");
+        execute(replica, "create table replication_lag (seconds double precision)");
+        execute(replica, "insert into replication_lag values (0)");
+
+        meterRegistry = new SimpleMeterRegistry();
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica), "select seconds from replication_lag", MAX_LAG, meterRegistry);
+        routing.checkReplicas();
+        filter = new ReplicaRoutingFilter(Duration.ofSeconds(15));
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+        primary.close();
+    }
+
+    @Test
+    void onlyReadOnlyServiceCallsReadFromTheReplica() throws SQLException {
+        assertThat(readOnly()).isEqualTo("replica");
+        assertThat(name(routing)).isEqualTo("primary");
+    }
+
+    @Test
+    void writePinsItsRequestToThePrimaryAndSetsTheCookie() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/vaults");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(readsDuring(request, response)).containsExactly("primary", "primary");
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).startsWith(ReplicaRoutingFilter.COOKIE + "=");
+    }
+
+    @Test
+    void readsFollowingAWriteStayOnThePrimaryForTheReadYourWritesWindow() throws Exception {
+        long now = System.currentTimeMillis();
+
+        assertThat(readsDuring(get(now + 10_000))).containsExactly("primary", "primary");
+        assertThat(readsDuring(get(now - 1))).containsExactly("replica", "replica");
+        assertThat(readsDuring(new MockHttpServletRequest("GET", "/api/vaults"), new MockHttpServletResponse()))
+            .containsExactly("replica", "replica");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimaryUntilItCatchesUp() throws SQLException {
+        execute(replica, "update replication_lag set seconds = 6");
+        routing.checkReplicas();
+
+        assertThat(readOnly()).isEqualTo("primary");
+        assertThat(meterRegistry.get("comicvault.datasource.replica.fallbacks").counter().count()).isEqualTo(1);
+
+        execute(replica, "update replication_lag set seconds = 5");
+        routing.checkReplicas();
+
+        assertThat(readOnly()).isEqualTo("replica");
+    }
+
+    @Test
+    void replicaIsForgottenWhenAReadOnlyCallEndsOutsideARequest() throws Exception {
+        readOnly();
+        assertThat(ReplicaReads.currentReplica()).isNull();
+
+        // inside a request the replica is kept between reads and only dropped when the request ends
+        List<Integer> replicas = new ArrayList<>();
+        MockFilterChain chain = new MockFilterChain(servlet(() -> {
+            readOnly();
+            replicas.add(ReplicaReads.currentReplica());
+        }));
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/vaults"), new MockHttpServletResponse(), chain);
+
+        assertThat(replicas).containsExactly(0);
+        assertThat(ReplicaReads.currentReplica()).isNull();
+    }
+
+    // two reads, as a request's count and page queries would make
+    private List<String> readsDuring(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        List<String> reads = new ArrayList<>();
+        filter.doFilter(request, response, new MockFilterChain(servlet(() -> {
+            reads.add(readOnly());
+            reads.add(readOnly());
+        })));
+        return reads;
+    }
+
+    private List<String> readsDuring(MockHttpServletRequest request) throws Exception {
+        return readsDuring(request, new MockHttpServletResponse());
+    }
+
+    private static MockHttpServletRequest get(long primaryUntil) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/vaults");
+        request.setCookies(new Cookie(ReplicaRoutingFilter.COOKIE, String.valueOf(primaryUntil)));
+        return request;
+    }
+
+    // what a @Transactional(readOnly = true) service method does around its first statement
+    private String readOnly() throws SQLException {
+        boolean outermost = ReplicaReads.enterReadOnly();
+        try {
+            return name(routing);
+        } finally {
+            if (outermost) {
+                ReplicaReads.exitReadOnly();
+            }
+        }
+    }
+
+    private static String name(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("select name from routing_probe")) {
+            result.next();
+            return result.getString(1);
+        }
+    }
+
+    private static HikariDataSource pool(String name) throws SQLException {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        pool.setMaximumPoolSize(2);
+        execute(pool, "drop all objects");
+        execute(pool, "create table routing_probe (name varchar(20))");
+        execute(pool, "insert into routing_probe values ('" + name + "')");
+        return pool;
+    }
+
+    private static void execute(HikariDataSource pool, String sql) throws SQLException {
+        try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static HttpServlet servlet(Reads reads) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+                try {
+                    reads.run();
+                } catch (SQLException e) {
+                    throw new ServletException(e);
+                }
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface Reads {
+        void run() throws SQLException;
+    }
+}
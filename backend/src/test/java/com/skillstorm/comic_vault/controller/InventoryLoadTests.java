@@ -0,0 +1,205 @@
+package com.skillstorm.comic_vault.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.skillstorm.comic_vault.ComicVaultApplication;
+import com.skillstorm.comic_vault.model.Comic;
+import com.skillstorm.comic_vault.model.Vault;
+import com.skillstorm.comic_vault.repository.ComicRepository;
+import com.skillstorm.comic_vault.repository.VaultRepository;
+import com.skillstorm.comic_vault.service.VaultInventoryService;
+
+/**
+ * load test for the inventory endpoints: starts the app on a random port once with Tomcat's
+ * platform thread pool and once with the virtual-threads profile, drives the same request mix
+ * from many concurrent clients and prints throughput and latency percentiles for both
+ * 
+ * only runs with: mvn -P load-test test (-Dloadtest.clients=400 -Dloadtest.seconds=20)
+ * the in-memory H2 database barely blocks, so point spring.datasource.* (and spring.jpa.database-platform)
+ * at PostgreSQL via -D system properties to see the effect of real JDBC waits
+ */
+@Tag("load")
+class InventoryLoadTests {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 400);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.seconds", 20));
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final int VAULTS = 20;
+    private static final int COMICS = 100;
+
+    @Test
+    void compareThreadingModes() throws Exception {
+        Result platform = run("platform", false);
+        Result virtual = run("virtual", true);
+
+        System.out.println();
+        System.out.printf("%-10s %10s %10s %10s %10s %10s %8s%n", "mode", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Result result : List.of(platform, virtual)) {
+            System.out.printf("%-10s %10d %10.0f %10.1f %10.1f %10.1f %8d%n", result.mode, result.latencies.length,
+                result.latencies.length / (double) DURATION.toSeconds(), result.percentile(0.50), result.percentile(0.99),
+                result.percentile(1.0), result.errors);
+        }
+
+        assertThat(platform.latencies).isNotEmpty();
+        assertThat(virtual.latencies).isNotEmpty();
+    }
+
+    private Result run(String mode, boolean virtualThreads) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ComicVaultApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                "logging.level.root=WARN");
+        if (virtualThreads) {
+            builder.profiles("virtual-threads");
+        }
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            long[][] ids = seed(context);
+
+            // warm up the JIT and connection pools, then measure
+            drive(baseUrl, ids, WARMUP);
+            Result result = drive(baseUrl, ids, DURATION);
+            result.mode = mode;
+            return result;
+        }
+    }
+
+    // every vault holds every comic so transfers and adds mostly succeed
+    private long[][] seed(ConfigurableApplicationContext context) {
+        VaultRepository vaultRepository = context.getBean(VaultRepository.class);
+        ComicRepository comicRepository = context.getBean(ComicRepository.class);
+        VaultInventoryService inventoryService = context.getBean(VaultInventoryService.class);
+
+        long[] vaultIds = new long[VAULTS];
+        long[] comicIds = new long[COMICS];
+        for (int v = 0; v < VAULTS; v++) {
+            vaultIds[v] = vaultRepository.save(new Vault("Load Vault " + v, "Load", 10_000_000)).getId();
+        }
+        for (int c = 0; c < COMICS; c++) {
+            comicIds[c] = comicRepository.save(new Comic("LOAD-" + c, "Load Comic " + c, null, BigDecimal.ONE)).getId();
+        }
+        for (long vaultId : vaultIds) {
+            for (long comicId : comicIds) {
+                inventoryService.addComicToVault(vaultId, comicId, 1000);
+            }
+        }
+        return new long[][] {vaultIds, comicIds};
+    }
+
+    // CLIENTS concurrent clients in a closed loop; the mix is 60% inventory page reads, 30% adds, 10% transfers
+    private Result drive(String baseUrl, long[][] ids, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        List<Future<Result>> futures = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    Result own = new Result();
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = nextRequest(baseUrl, ids);
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 500) {
+                                own.errors++;
+                            }
+                        } catch (Exception e) {
+                            own.errors++;
+                        }
+                        own.add(System.nanoTime() - start);
+                    }
+                    return own;
+                }));
+            }
+        }
+
+        Result total = new Result();
+        for (Future<Result> future : futures) {
+            total.merge(future.get());
+        }
+        total.finish();
+        return total;
+    }
+
+    private HttpRequest nextRequest(String baseUrl, long[][] ids) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long vaultId = ids[0][random.nextInt(VAULTS)];
+        long otherVaultId = ids[0][random.nextInt(VAULTS)];
+        long comicId = ids[1][random.nextInt(COMICS)];
+        int roll = random.nextInt(10);
+
+        if (roll < 6) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/vaults/" + vaultId + "/inventory?size=50")).GET().build();
+        }
+        if (roll < 9 || vaultId == otherVaultId) {
+            return json(baseUrl + "/api/vaults/" + vaultId + "/inventory", "{\"comicId\":" + comicId + ",\"quantity\":1}");
+        }
+        return json(baseUrl + "/api/inventory/transfer",
+            "{\"sourceVaultId\":" + vaultId + ",\"destinationVaultId\":" + otherVaultId + ",\"comicId\":" + comicId + ",\"quantity\":1}");
+    }
+
+    private static HttpRequest json(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    // request latencies in nanoseconds plus a count of failed requests
+    private static class Result {
+        String mode;
+        long[] latencies = new long[0];
+        int size;
+        int errors;
+
+        void add(long nanos) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(1024, size * 2));
+            }
+            latencies[size++] = nanos;
+        }
+
+        void merge(Result other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.latencies[i]);
+            }
+            errors += other.errors;
+        }
+
+        // trim to the recorded latencies and sort them for percentile lookups
+        void finish() {
+            latencies = Arrays.copyOf(latencies, size);
+            Arrays.sort(latencies);
+        }
+
+        double percentile(double p) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * latencies.length) - 1;
+            return latencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
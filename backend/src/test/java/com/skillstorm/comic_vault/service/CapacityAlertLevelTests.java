@@ -0,0 +1,55 @@
+package com.skillstorm.comic_vault.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.skillstorm.comic_vault.model.CapacityAlert.Level;
+
+/**
+ * the alert level rules of CapacityAlertService.levelFor, with the default thresholds (WARNING at 80%,
+ * CRITICAL at 90%) and 5 points of hysteresis; levelFor doesn't touch the repositories
+ */
+class CapacityAlertLevelTests {
+
+    private final CapacityAlertService alerts = new CapacityAlertService(null, null, null, 80, 90, 5);
+
+    @Test
+    void raisesEachLevelAtItsThreshold() {
+        assertThat(level(79, Level.NONE)).isEqualTo(Level.NONE);
+        assertThat(level(80, Level.NONE)).isEqualTo(Level.WARNING);
+        assertThat(level(89, Level.WARNING)).isEqualTo(Level.WARNING);
+        assertThat(level(90, Level.WARNING)).isEqualTo(Level.CRITICAL);
+        // straight to CRITICAL, and the hysteresis band doesn't raise anything on its own
+        assertThat(level(95, Level.NONE)).isEqualTo(Level.CRITICAL);
+        assertThat(level(85, Level.NONE)).isEqualTo(Level.WARNING);
+    }
+
+    @Test
+    void holdsALevelDownToItsThresholdMinusTheHysteresis() {
+        assertThat(level(85, Level.CRITICAL)).isEqualTo(Level.CRITICAL);
+        assertThat(level(84, Level.CRITICAL)).isEqualTo(Level.WARNING);
+        assertThat(level(75, Level.WARNING)).isEqualTo(Level.WARNING);
+        assertThat(level(74, Level.WARNING)).isEqualTo(Level.NONE);
+        // a CRITICAL vault that drops past both bands clears completely
+        assertThat(level(74, Level.CRITICAL)).isEqualTo(Level.NONE);
+    }
+
+    @Test
+    void neverHoldsALevelBelowOnePercent() {
+        // WARNING at 3% with 5 points of hysteresis would otherwise hold down to an empty vault
+        assertThat(alerts.levelFor(10, 1000, 3, 4, Level.WARNING)).isEqualTo(Level.WARNING);
+        assertThat(alerts.levelFor(9, 1000, 3, 4, Level.WARNING)).isEqualTo(Level.NONE);
+        assertThat(alerts.levelFor(0, 1000, 3, 4, Level.CRITICAL)).isEqualTo(Level.NONE);
+    }
+
+    @Test
+    void vaultWithoutCapacityNeverAlerts() {
+        assertThat(alerts.levelFor(0, 0, 80, 90, Level.CRITICAL)).isEqualTo(Level.NONE);
+    }
+
+    // occupancy in percent of a 100-copy vault
+    private Level level(int total, Level current) {
+        return alerts.levelFor(total, 100, 80, 90, current);
+    }
+}
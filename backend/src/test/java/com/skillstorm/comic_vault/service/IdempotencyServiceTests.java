@@ -0,0 +1,163 @@
+package com.skillstorm.comic_vault.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillstorm.comic_vault.exception.InvalidOperationException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Idempotency-Key coalescing and replay; duplicates run on their own threads against one store, and the
+ * action counts how often it actually ran
+ */
+class IdempotencyServiceTests {
+
+    private static final String REQUEST = "POST /api/vaults/1/inventory";
+    private static final int DUPLICATES = 8;
+
+    private MeterRegistry meterRegistry;
+    private IdempotencyService idempotency;
+    private ExecutorService executor;
+    private AtomicInteger runs;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        idempotency = new IdempotencyService(new ObjectMapper(), meterRegistry, "maximumSize=100", Duration.ofSeconds(5));
+        executor = Executors.newFixedThreadPool(DUPLICATES);
+        runs = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentDuplicatesRunTheActionOnceAndShareItsResponse() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<ResponseEntity<String>> action = () -> {
+            runs.incrementAndGet();
+            await(release);
+            return ResponseEntity.status(HttpStatus.CREATED).body("placed");
+        };
+
+        List<Future<ResponseEntity<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < DUPLICATES; i++) {
+            responses.add(executor.submit(() -> idempotency.execute("key-1", REQUEST, Map.of("quantity", 3), action)));
+        }
+        // every duplicate is either running the action or waiting on it before it is let go
+        Thread.sleep(200);
+        release.countDown();
+
+        int replayed = 0;
+        for (Future<ResponseEntity<String>> future : responses) {
+            ResponseEntity<String> response = future.get(10, TimeUnit.SECONDS);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(response.getBody()).isEqualTo("placed");
+            if ("true".equals(response.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER))) {
+                replayed++;
+            }
+        }
+        assertThat(runs).hasValue(1);
+        assertThat(replayed).isEqualTo(DUPLICATES - 1);
+
+        // a later retry is answered from the store
+        ResponseEntity<String> retry = idempotency.execute("key-1", REQUEST, Map.of("quantity", 3), action);
+        assertThat(retry.getBody()).isEqualTo("placed");
+        assertThat(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(runs).hasValue(1);
+        assertThat(meterRegistry.get("comicvault.idempotency.replays").counter().count()).isEqualTo(DUPLICATES);
+    }
+
+    @Test
+    void errorIsSharedWithWaitingDuplicatesAndTheKeyIsForgotten() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<ResponseEntity<String>> failing = () -> {
+            runs.incrementAndGet();
+            running.countDown();
+            await(release);
+            throw new OutOfMemoryError("simulated");
+        };
+
+        Future<ResponseEntity<String>> first = executor.submit(() -> idempotency.execute("key-2", REQUEST, null, failing));
+        assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+        Future<ResponseEntity<String>> duplicate = executor.submit(() -> idempotency.execute("key-2", REQUEST, null, failing));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThatThrownBy(() -> first.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(OutOfMemoryError.class);
+        assertThatThrownBy(() -> duplicate.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(OutOfMemoryError.class);
+        assertThat(runs).hasValue(1);
+
+        // nothing was stored, so a retry runs again
+        ResponseEntity<String> retry = idempotency.execute("key-2", REQUEST, null, () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.ok("retried");
+        });
+        assertThat(retry.getBody()).isEqualTo("retried");
+        assertThat(retry.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)).isFalse();
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void duplicateStopsWaitingAfterTheWaitTimeout() throws Exception {
+        idempotency = new IdempotencyService(new ObjectMapper(), new SimpleMeterRegistry(), "maximumSize=100", Duration.ofMillis(100));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<ResponseEntity<String>> first = executor.submit(() -> idempotency.execute("key-3", REQUEST, null, () -> {
+            running.countDown();
+            await(release);
+            return ResponseEntity.ok("slow");
+        }));
+        assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThatThrownBy(() -> idempotency.execute("key-3", REQUEST, null, () -> ResponseEntity.ok("again")))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessageContaining("still in progress");
+        } finally {
+            release.countDown();
+        }
+        assertThat(first.get(10, TimeUnit.SECONDS).getBody()).isEqualTo("slow");
+    }
+
+    @Test
+    void keyReusedForADifferentBodyIsRejected() {
+        idempotency.execute("key-4", REQUEST, Map.of("quantity", 3), () -> ResponseEntity.ok("placed"));
+
+        assertThatThrownBy(() -> idempotency.execute("key-4", REQUEST, Map.of("quantity", 4), () -> ResponseEntity.ok("placed")))
+            .isInstanceOf(InvalidOperationException.class)
+            .hasMessageContaining("different request");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
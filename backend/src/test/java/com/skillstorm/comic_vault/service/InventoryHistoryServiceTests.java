@@ -0,0 +1,169 @@
+package com.skillstorm.comic_vault.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.skillstorm.comic_vault.dto.InventoryHistoryResponse;
+import com.skillstorm.comic_vault.dto.InventoryPosition;
+import com.skillstorm.comic_vault.exception.BadRequestException;
+import com.skillstorm.comic_vault.model.Comic;
+import com.skillstorm.comic_vault.model.InventorySnapshot;
+import com.skillstorm.comic_vault.model.Vault;
+import com.skillstorm.comic_vault.repository.ComicRepository;
+import com.skillstorm.comic_vault.repository.InventorySnapshotRepository;
+import com.skillstorm.comic_vault.repository.VaultRepository;
+
+/**
+ * point-in-time inventory: a snapshot rolled forward from the previous one and the movements after it,
+ * plus the ledger tail since the nearest snapshot; quantities are compared as comicId -> quantity
+ */
+@SpringBootTest
+class InventoryHistoryServiceTests {
+
+    @Autowired
+    private InventoryHistoryService historyService;
+
+    @Autowired
+    private VaultInventoryService inventoryService;
+
+    @Autowired
+    private InventorySnapshotRepository snapshotRepository;
+
+    @Autowired
+    private VaultRepository vaultRepository;
+
+    @Autowired
+    private ComicRepository comicRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void historyIsTheNearestSnapshotPlusTheMovementsAfterIt() throws Exception {
+        Vault vault = vaultRepository.save(new Vault("History Vault", "Bay 1", 100));
+        Comic kept = createComic("HISTORY-1");
+        Comic added = createComic("HISTORY-2");
+        inventoryService.addComicToVault(vault.getId(), kept.getId(), 10);
+        historyService.takeSnapshot();
+        LocalDateTime beforeChanges = instant();
+
+        inventoryService.updateQuantity(vault.getId(), kept.getId(), 4);
+        inventoryService.addComicToVault(vault.getId(), added.getId(), 3);
+        LocalDateTime afterChanges = instant();
+
+        // both read the same snapshot; the later one replays the two movements on top of it
+        assertThat(quantities(historyService.getInventoryAt(vault.getId(), beforeChanges))).containsExactlyEntriesOf(Map.of(kept.getId(), 10));
+        assertThat(quantities(historyService.getInventoryAt(vault.getId(), afterChanges)))
+            .containsExactlyEntriesOf(new TreeMap<>(Map.of(kept.getId(), 4, added.getId(), 3)));
+
+        historyService.takeSnapshot();
+        InventorySnapshot rolled = latestSnapshot();
+        assertThat(snapshotQuantities(rolled, vault)).containsExactlyEntriesOf(new TreeMap<>(Map.of(kept.getId(), 4, added.getId(), 3)));
+
+        InventoryHistoryResponse now = historyService.getInventoryAt(vault.getId(), instant());
+        assertThat(now.getSnapshotTakenAt()).isEqualTo(rolled.getTakenAt());
+        assertThat(quantities(now)).containsExactlyEntriesOf(new TreeMap<>(Map.of(kept.getId(), 4, added.getId(), 3)));
+        // the older point in time still reads the older snapshot
+        assertThat(quantities(historyService.getInventoryAt(vault.getId(), beforeChanges))).containsExactlyEntriesOf(Map.of(kept.getId(), 10));
+
+        // a comic that nets out to zero is left out of the next snapshot
+        inventoryService.removeFromVault(vault.getId(), kept.getId());
+        historyService.takeSnapshot();
+        assertThat(snapshotQuantities(latestSnapshot(), vault)).containsExactlyEntriesOf(Map.of(added.getId(), 3));
+    }
+
+    @Test
+    void snapshotWaitsForMovementsStillInFlight() throws Exception {
+        Vault vault = vaultRepository.save(new Vault("History In Flight Vault", "Bay 2", 100));
+        Comic committed = createComic("HISTORY-FLIGHT-1");
+        Comic inFlight = createComic("HISTORY-FLIGHT-2");
+        inventoryService.addComicToVault(vault.getId(), committed.getId(), 2);
+
+        // a transaction that has recorded its movement, holding the vault lock, but hasn't committed yet
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch recorded = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slowAdd = executor.submit(() -> transaction.executeWithoutResult(status -> {
+                inventoryService.addComicToVault(vault.getId(), inFlight.getId(), 7);
+                recorded.countDown();
+                sleep(500);
+            }));
+            assertThat(recorded.await(10, TimeUnit.SECONDS)).isTrue();
+
+            historyService.takeSnapshot();
+
+            assertThat(slowAdd.isDone()).isTrue();
+            slowAdd.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(snapshotQuantities(latestSnapshot(), vault))
+            .containsExactlyEntriesOf(new TreeMap<>(Map.of(committed.getId(), 2, inFlight.getId(), 7)));
+    }
+
+    @Test
+    void historyBeforeTheFirstSnapshotIsRejected() {
+        Vault vault = vaultRepository.save(new Vault("History Early Vault", "Bay 3", 100));
+
+        assertThatThrownBy(() -> historyService.getInventoryAt(vault.getId(), LocalDateTime.of(2000, 1, 1, 0, 0)))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessageStartingWith("Inventory history");
+    }
+
+    private Comic createComic(String sku) {
+        return comicRepository.save(new Comic(sku, "History Comic " + sku, null, BigDecimal.ONE));
+    }
+
+    private InventorySnapshot latestSnapshot() {
+        return snapshotRepository.findFirstByOrderByTakenAtDesc().orElseThrow();
+    }
+
+    private Map<Long, Integer> snapshotQuantities(InventorySnapshot snapshot, Vault vault) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (InventoryPosition position : snapshotRepository.findPositions(snapshot.getId(), vault.getId())) {
+            quantities.put(position.getComicId(), position.getQuantity());
+        }
+        return quantities;
+    }
+
+    private static Map<Long, Integer> quantities(InventoryHistoryResponse response) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (InventoryPosition position : response.getItems()) {
+            quantities.put(position.getComicId(), position.getQuantity());
+        }
+        return quantities;
+    }
+
+    // a point in time clearly between two changes; stored timestamps are rounded to microseconds
+    private static LocalDateTime instant() {
+        sleep(5);
+        LocalDateTime instant = LocalDateTime.now();
+        sleep(5);
+        return instant;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.skillstorm.comic_vault.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.skillstorm.comic_vault.dto.BulkInventoryLine;
+import com.skillstorm.comic_vault.model.Vault;
+
+/**
+ * the placement rules of PlacementPlanner, on vaults built in memory; allocations are compared as
+ * "vaultId:comicId:quantity" in the order they were made
+ */
+class PlacementPlannerTests {
+
+    @Test
+    void topsUpVaultsHoldingTheComicFirst() {
+        List<Vault> vaults = List.of(vault(1, "A", 100, 0), vault(2, "A", 30, 10), vault(3, "A", 60, 10));
+        // vault 3 holds more copies, so it is topped up before vault 2; the roomy empty vault 1 is never used
+        List<BulkInventoryLine> holdings = List.of(new BulkInventoryLine(2L, 7L, 5), new BulkInventoryLine(3L, 7L, 10));
+
+        PlacementPlanner planner = plan(vaults, holdings, false, Map.of(7L, 60));
+
+        assertThat(allocations(planner)).containsExactly("3:7:50", "2:7:10");
+    }
+
+    @Test
+    void bestFitTakesTheTightestVaultAndTheLowerIdOnTies() {
+        List<Vault> vaults = List.of(vault(1, "A", 30, 0), vault(2, "A", 12, 0), vault(3, "A", 12, 0), vault(4, "A", 10, 0));
+
+        assertThat(allocations(plan(vaults, List.of(), false, Map.of(7L, 12)))).containsExactly("2:7:12");
+    }
+
+    @Test
+    void fillsTheRoomiestVaultWhenNoneFitsTheWholeLine() {
+        List<Vault> vaults = List.of(vault(1, "A", 30, 0), vault(2, "A", 12, 0), vault(3, "A", 12, 0), vault(4, "A", 10, 0));
+
+        // 30 fills vault 1, then 20 still doesn't fit anywhere so the largest 12 goes, and the last 8 fit vault 4
+        assertThat(allocations(plan(vaults, List.of(), false, Map.of(7L, 50)))).containsExactly("1:7:30", "3:7:12", "4:7:8");
+    }
+
+    @Test
+    void spillsIntoTheNextLocationOnlyWhenTheCurrentOneIsFull() {
+        List<Vault> vaults = List.of(vault(1, "East", 40, 0), vault(2, "East", 40, 0), vault(3, "West", 100, 0));
+
+        // West is the roomiest location, so it is filled first
+        assertThat(allocations(plan(vaults, List.of(), true, Map.of(7L, 120)))).containsExactly("3:7:100", "1:7:20");
+    }
+
+    @Test
+    void keepsAComicInTheLocationAlreadyHoldingIt() {
+        List<Vault> vaults = List.of(vault(1, "East", 30, 0), vault(2, "East", 40, 0), vault(3, "West", 100, 0),
+            vault(4, "North", 10, 10), vault(5, "North", 25, 0));
+        List<BulkInventoryLine> holdings = List.of(new BulkInventoryLine(1L, 7L, 3), new BulkInventoryLine(4L, 8L, 10));
+
+        // comic 7 tops up vault 1 and the rest stays in East; comic 8's vault is full, but North still holds it
+        PlacementPlanner planner = plan(vaults, holdings, true, orderedDemand(7L, 60, 8L, 20));
+
+        assertThat(allocations(planner)).containsExactly("1:7:30", "2:7:30", "5:8:20");
+    }
+
+    @Test
+    void skipsVaultsWhoseFreeSpaceIsAllHeld() {
+        Vault held = vault(1, "A", 50, 20);
+        held.setReservedCapacity(30);
+        List<Vault> vaults = List.of(held, vault(2, "A", 10, 0));
+
+        PlacementPlanner planner = plan(vaults, List.of(new BulkInventoryLine(1L, 7L, 20)), false, Map.of(7L, 5));
+
+        assertThat(allocations(planner)).containsExactly("2:7:5");
+    }
+
+    @Test
+    void reportsWhatDoesNotFit() {
+        List<Vault> vaults = List.of(vault(1, "A", 15, 0), vault(2, "A", 10, 0));
+
+        // the larger line is placed first and the smaller one gets what is left
+        PlacementPlanner planner = plan(vaults, List.of(), false, orderedDemand(8L, 10, 7L, 20));
+
+        assertThat(allocations(planner)).containsExactly("1:7:15", "2:7:5", "2:8:5");
+        assertThat(planner.getPlacedQuantity()).isEqualTo(25);
+        assertThat(planner.getUnplacedQuantity()).isEqualTo(5);
+        assertThat(planner.getUnplaced()).singleElement().satisfies(line -> {
+            assertThat(line.getComicId()).isEqualTo(8L);
+            assertThat(line.getQuantity()).isEqualTo(5);
+        });
+    }
+
+    private static Vault vault(long id, String location, int maxCapacity, int currentTotal) {
+        Vault vault = new Vault("Vault " + id, location, maxCapacity);
+        vault.setId(id);
+        vault.setCurrentTotal(currentTotal);
+        return vault;
+    }
+
+    private static Map<Long, Integer> orderedDemand(Long firstComicId, int firstQuantity, Long secondComicId, int secondQuantity) {
+        Map<Long, Integer> demand = new LinkedHashMap<>();
+        demand.put(firstComicId, firstQuantity);
+        demand.put(secondComicId, secondQuantity);
+        return demand;
+    }
+
+    private static PlacementPlanner plan(List<Vault> vaults, List<BulkInventoryLine> holdings, boolean groupByLocation, Map<Long, Integer> demand) {
+        PlacementPlanner planner = new PlacementPlanner(vaults, holdings, groupByLocation);
+        planner.place(demand);
+        return planner;
+    }
+
+    private static List<String> allocations(PlacementPlanner planner) {
+        return planner.getAllocations().stream().map(line -> line.getVaultId() + ":" + line.getComicId() + ":" + line.getQuantity()).toList();
+    }
+}
@@ -0,0 +1,126 @@
+package com.skillstorm.comic_vault.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.skillstorm.comic_vault.dto.TransferRequest;
+import com.skillstorm.comic_vault.dto.VaultInventoryItem;
+import com.skillstorm.comic_vault.exception.InsufficientCapacityException;
+import com.skillstorm.comic_vault.exception.InsufficientQuantityException;
+import com.skillstorm.comic_vault.model.Comic;
+import com.skillstorm.comic_vault.model.Vault;
+import com.skillstorm.comic_vault.repository.ComicRepository;
+import com.skillstorm.comic_vault.repository.VaultInventoryRepository;
+import com.skillstorm.comic_vault.repository.VaultRepository;
+
+/**
+ * the order semantics of a multi-line transfer: lines are applied in order against the same rows,
+ * capacity is checked on the net result, and any failing line rolls the whole order back
+ */
+@SpringBootTest
+class TransferOrderServiceTests {
+
+    @Autowired
+    private TransferOrderService transferOrderService;
+
+    @Autowired
+    private VaultInventoryService inventoryService;
+
+    @Autowired
+    private VaultRepository vaultRepository;
+
+    @Autowired
+    private ComicRepository comicRepository;
+
+    @Autowired
+    private VaultInventoryRepository inventoryRepository;
+
+    @Test
+    void capacityIsCheckedOnTheNetResultOfTheOrder() {
+        Vault full = vaultRepository.save(new Vault("Order Net Full", "Bay 1", 10));
+        Vault source = vaultRepository.save(new Vault("Order Net Source", "Bay 2", 100));
+        Vault overflow = vaultRepository.save(new Vault("Order Net Overflow", "Bay 3", 100));
+        Comic outgoing = createComic("ORDER-NET-OUT");
+        Comic incoming = createComic("ORDER-NET-IN");
+        inventoryService.addComicToVault(full.getId(), outgoing.getId(), 10);
+        inventoryService.addComicToVault(source.getId(), incoming.getId(), 20);
+
+        // the full vault takes 5 in the first line, which only fits because the second line makes room
+        transferOrderService.transfer(List.of(
+            new TransferRequest(source.getId(), full.getId(), incoming.getId(), 5),
+            new TransferRequest(full.getId(), overflow.getId(), outgoing.getId(), 5)));
+        assertThat(currentTotal(full)).isEqualTo(10);
+        assertThat(quantity(full, incoming)).isEqualTo(5);
+        assertThat(quantity(full, outgoing)).isEqualTo(5);
+
+        // 6 in, 5 out leaves the vault one over capacity
+        assertThatThrownBy(() -> transferOrderService.transfer(List.of(
+            new TransferRequest(source.getId(), full.getId(), incoming.getId(), 6),
+            new TransferRequest(full.getId(), overflow.getId(), outgoing.getId(), 5))))
+            .isInstanceOf(InsufficientCapacityException.class);
+        assertThat(currentTotal(full)).isEqualTo(10);
+        assertThat(quantity(source, incoming)).isEqualTo(15);
+    }
+
+    @Test
+    void laterLineCanEmptyARowAnEarlierLineCreated() {
+        Vault first = vaultRepository.save(new Vault("Order Chain A", "Bay 4", 100));
+        Vault second = vaultRepository.save(new Vault("Order Chain B", "Bay 5", 100));
+        Vault third = vaultRepository.save(new Vault("Order Chain C", "Bay 6", 100));
+        Comic comic = createComic("ORDER-CHAIN");
+        inventoryService.addComicToVault(first.getId(), comic.getId(), 7);
+
+        // B's row is created by the first line and emptied by the second, so it is never written
+        transferOrderService.transfer(List.of(
+            new TransferRequest(first.getId(), second.getId(), comic.getId(), 7),
+            new TransferRequest(second.getId(), third.getId(), comic.getId(), 7)));
+
+        assertThat(inventoryRepository.findByVaultIdAndComicId(first.getId(), comic.getId())).isEmpty();
+        assertThat(inventoryRepository.findByVaultIdAndComicId(second.getId(), comic.getId())).isEmpty();
+        assertThat(quantity(third, comic)).isEqualTo(7);
+        assertThat(currentTotal(first)).isZero();
+        assertThat(currentTotal(second)).isZero();
+        assertThat(currentTotal(third)).isEqualTo(7);
+    }
+
+    @Test
+    void failingLineRollsBackTheWholeOrder() {
+        Vault source = vaultRepository.save(new Vault("Order Rollback Source", "Bay 7", 100));
+        Vault destination = vaultRepository.save(new Vault("Order Rollback Destination", "Bay 8", 100));
+        Comic plenty = createComic("ORDER-ROLLBACK-1");
+        Comic scarce = createComic("ORDER-ROLLBACK-2");
+        inventoryService.addComicToVault(source.getId(), plenty.getId(), 10);
+        inventoryService.addComicToVault(source.getId(), scarce.getId(), 2);
+
+        assertThatThrownBy(() -> transferOrderService.transfer(List.of(
+            new TransferRequest(source.getId(), destination.getId(), plenty.getId(), 10),
+            new TransferRequest(source.getId(), destination.getId(), scarce.getId(), 3))))
+            .isInstanceOf(InsufficientQuantityException.class)
+            .hasMessageStartingWith("Line 1:");
+
+        assertThat(quantity(source, plenty)).isEqualTo(10);
+        assertThat(quantity(source, scarce)).isEqualTo(2);
+        assertThat(inventoryRepository.findByVaultIdAndComicId(destination.getId(), plenty.getId())).isEmpty();
+        assertThat(currentTotal(source)).isEqualTo(12);
+        assertThat(currentTotal(destination)).isZero();
+    }
+
+    private Comic createComic(String sku) {
+        return comicRepository.save(new Comic(sku, "Order Comic " + sku, null, BigDecimal.ONE));
+    }
+
+    private int quantity(Vault vault, Comic comic) {
+        return inventoryService.getInventoryItem(vault.getId(), comic.getId()).map(VaultInventoryItem::getQuantity).orElse(0);
+    }
+
+    private int currentTotal(Vault vault) {
+        return vaultRepository.findById(vault.getId()).orElseThrow().getCurrentTotal();
+    }
+}
@@ -0,0 +1,229 @@
+package com.skillstorm.comic_vault.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.skillstorm.comic_vault.dto.TransferRequest;
+import com.skillstorm.comic_vault.dto.VaultInventoryItem;
+import com.skillstorm.comic_vault.exception.InsufficientCapacityException;
+import com.skillstorm.comic_vault.exception.InsufficientQuantityException;
+import com.skillstorm.comic_vault.exception.InvalidOperationException;
+import com.skillstorm.comic_vault.exception.ResourceNotFoundException;
+import com.skillstorm.comic_vault.model.Comic;
+import com.skillstorm.comic_vault.model.InventoryHold;
+import com.skillstorm.comic_vault.model.Vault;
+import com.skillstorm.comic_vault.repository.ComicRepository;
+import com.skillstorm.comic_vault.repository.VaultInventoryRepository;
+import com.skillstorm.comic_vault.repository.VaultRepository;
+
+/**
+ * hammers the inventory mutation paths from many threads at once and checks that
+ * vault capacity and per-comic quantities are never violated
+ */
+@SpringBootTest
+class VaultInventoryConcurrencyTests {
+
+    private static final int THREADS = 32;
+    private static final int OPERATIONS_PER_THREAD = 50;
+
+    @Autowired
+    private VaultInventoryService inventoryService;
+
+    @Autowired
+    private InventoryHoldService holdService;
+
+    @Autowired
+    private TransferOrderService transferOrderService;
+
+    @Autowired
+    private VaultRepository vaultRepository;
+
+    @Autowired
+    private ComicRepository comicRepository;
+
+    @Autowired
+    private VaultInventoryRepository inventoryRepository;
+
+    @Test
+    void concurrentAddsNeverExceedCapacity() throws Exception {
+        Vault vault = vaultRepository.save(new Vault("Stress Add Vault", "Bay 1", 500));
+        List<Comic> comics = createComics("ADD", 10);
+        AtomicInteger accepted = new AtomicInteger();
+
+        runConcurrently(() -> {
+            Comic comic = comics.get(ThreadLocalRandom.current().nextInt(comics.size()));
+            int quantity = ThreadLocalRandom.current().nextInt(1, 6);
+            try {
+                inventoryService.addComicToVault(vault.getId(), comic.getId(), quantity);
+                accepted.addAndGet(quantity);
+            } catch (InsufficientCapacityException expected) {
+                // vault is full, rejected as it should be
+            }
+            return null;
+        });
+
+        int recordedTotal = vaultRepository.findById(vault.getId()).orElseThrow().getCurrentTotal();
+        assertThat(recordedTotal).isLessThanOrEqualTo(500);
+        assertThat(recordedTotal).isEqualTo(accepted.get());
+        assertThat(inventoryRepository.sumQuantityByVaultId(vault.getId())).isEqualTo(recordedTotal);
+    }
+
+    @Test
+    void concurrentTransfersConserveQuantity() throws Exception {
+        Vault first = vaultRepository.save(new Vault("Stress Transfer Vault A", "Bay 2", 300));
+        Vault second = vaultRepository.save(new Vault("Stress Transfer Vault B", "Bay 3", 300));
+        List<Comic> comics = createComics("XFER", 3);
+        for (Comic comic : comics) {
+            inventoryService.addComicToVault(first.getId(), comic.getId(), 60);
+            inventoryService.addComicToVault(second.getId(), comic.getId(), 60);
+        }
+
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            boolean forward = random.nextBoolean();
+            Long sourceId = forward ? first.getId() : second.getId();
+            Long destinationId = forward ? second.getId() : first.getId();
+            Comic comic = comics.get(random.nextInt(comics.size()));
+            try {
+                inventoryService.transferComicBetweenVaults(sourceId, destinationId, comic.getId(), random.nextInt(1, 20));
+            } catch (InsufficientQuantityException | InsufficientCapacityException | ResourceNotFoundException expected) {
+                // not enough stock / space, or the source row was emptied by another transfer
+            }
+            return null;
+        });
+
+        for (Comic comic : comics) {
+            int firstQuantity = inventoryService.getInventoryItem(first.getId(), comic.getId()).map(VaultInventoryItem::getQuantity).orElse(0);
+            int secondQuantity = inventoryService.getInventoryItem(second.getId(), comic.getId()).map(VaultInventoryItem::getQuantity).orElse(0);
+            assertThat(firstQuantity).isGreaterThanOrEqualTo(0);
+            assertThat(secondQuantity).isGreaterThanOrEqualTo(0);
+            assertThat(firstQuantity + secondQuantity).isEqualTo(120);
+        }
+
+        for (Vault vault : List.of(first, second)) {
+            int recordedTotal = vaultRepository.findById(vault.getId()).orElseThrow().getCurrentTotal();
+            assertThat(recordedTotal).isLessThanOrEqualTo(300);
+            assertThat(inventoryRepository.sumQuantityByVaultId(vault.getId())).isEqualTo(recordedTotal);
+        }
+    }
+
+    @Test
+    void concurrentHoldsNeverPromiseMoreThanAvailable() throws Exception {
+        Vault source = vaultRepository.save(new Vault("Stress Hold Source", "Bay 4", 300));
+        Vault destination = vaultRepository.save(new Vault("Stress Hold Destination", "Bay 5", 150));
+        Comic comic = createComics("HOLD", 1).get(0);
+        inventoryService.addComicToVault(source.getId(), comic.getId(), 200);
+
+        // holds are committed, released or left to expire, while plain transfers compete for the same stock
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int quantity = random.nextInt(1, 6);
+            try {
+                if (random.nextInt(4) == 0) {
+                    inventoryService.transferComicBetweenVaults(source.getId(), destination.getId(), comic.getId(), quantity);
+                    return null;
+                }
+                InventoryHold hold = holdService.createHold(source.getId(), destination.getId(), comic.getId(), quantity, Duration.ofMillis(200));
+                switch (random.nextInt(3)) {
+                    case 0 -> holdService.commitHold(hold.getId());
+                    case 1 -> holdService.releaseHold(hold.getId());
+                    default -> { }
+                }
+            } catch (InsufficientQuantityException | InsufficientCapacityException | InvalidOperationException | ResourceNotFoundException expected) {
+                // nothing left to hold or transfer, or the hold expired before it was committed
+            }
+            return null;
+        });
+
+        Thread.sleep(250);
+        holdService.expireHolds();
+
+        VaultInventoryItem sourceItem = inventoryService.getInventoryItem(source.getId(), comic.getId()).orElseThrow();
+        int destinationQuantity = inventoryService.getInventoryItem(destination.getId(), comic.getId()).map(VaultInventoryItem::getQuantity).orElse(0);
+        assertThat(sourceItem.getReservedQuantity()).isZero();
+        assertThat(sourceItem.getQuantity() + destinationQuantity).isEqualTo(200);
+        assertThat(destinationQuantity).isLessThanOrEqualTo(150);
+
+        Vault reloadedDestination = vaultRepository.findById(destination.getId()).orElseThrow();
+        assertThat(reloadedDestination.getReservedCapacity()).isZero();
+        assertThat(reloadedDestination.getCurrentTotal()).isEqualTo(destinationQuantity);
+        assertThat(vaultRepository.findById(source.getId()).orElseThrow().getCurrentTotal()).isEqualTo(sourceItem.getQuantity());
+    }
+
+    @Test
+    void transferOrderLeavesHeldCopiesInPlace() {
+        Vault source = vaultRepository.save(new Vault("Held Order Source", "Bay 6", 100));
+        Vault holdDestination = vaultRepository.save(new Vault("Held Order Hold Destination", "Bay 7", 100));
+        Vault destination = vaultRepository.save(new Vault("Held Order Destination", "Bay 8", 100));
+        Comic comic = createComics("HELD-ORDER", 1).get(0);
+        inventoryService.addComicToVault(source.getId(), comic.getId(), 10);
+        InventoryHold hold = holdService.createHold(source.getId(), holdDestination.getId(), comic.getId(), 3, Duration.ofMinutes(5));
+
+        // only the 7 unheld copies can move
+        assertThatThrownBy(() -> transferOrderService.transfer(List.of(new TransferRequest(source.getId(), destination.getId(), comic.getId(), 8))))
+            .isInstanceOf(InsufficientQuantityException.class);
+        transferOrderService.transfer(List.of(new TransferRequest(source.getId(), destination.getId(), comic.getId(), 2)));
+
+        VaultInventoryItem sourceItem = inventoryService.getInventoryItem(source.getId(), comic.getId()).orElseThrow();
+        assertThat(sourceItem.getQuantity()).isEqualTo(8);
+        assertThat(sourceItem.getReservedQuantity()).isEqualTo(3);
+        assertThat(vaultRepository.findById(source.getId()).orElseThrow().getCurrentTotal()).isEqualTo(8);
+        assertThat(inventoryRepository.sumQuantityByVaultId(source.getId())).isEqualTo(8);
+        assertThat(vaultRepository.findById(destination.getId()).orElseThrow().getCurrentTotal()).isEqualTo(2);
+
+        // the held copies are still there to commit
+        holdService.commitHold(hold.getId());
+        assertThat(inventoryService.getInventoryItem(source.getId(), comic.getId()).orElseThrow().getQuantity()).isEqualTo(5);
+        assertThat(vaultRepository.findById(holdDestination.getId()).orElseThrow().getCurrentTotal()).isEqualTo(3);
+    }
+
+    private List<Comic> createComics(String prefix, int count) {
+        List<Comic> comics = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            comics.add(comicRepository.save(new Comic(prefix + "-" + i, "Stress Comic " + i, null, BigDecimal.ONE)));
+        }
+        return comics;
+    }
+
+    // runs the operation OPERATIONS_PER_THREAD times on each of THREADS threads, all released together
+    private void runConcurrently(Callable<Void> operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        operation.call();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                // rethrows anything unexpected, e.g. a deadlock or lock timeout
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -33,3 +33,36 @@ export const apiClient = ky.create({
         ],
     },
 });
+
+// Largest page the backend will return (spring.data.web.pageable.max-page-size)
+export const MAX_PAGE_SIZE = 500;
+
+// Loads every page of a cursor-paginated list endpoint by following the
+// X-Next-Cursor response header; each request stays within the server page cap
+export async function fetchAllPages(path, searchParams = {}) {
+    const items = [];
+    let after = null;
+    do {
+        const response = await apiClient.get(path, {
+            searchParams: {
+                size: MAX_PAGE_SIZE,
+                ...searchParams,
+                ...(after ? { after } : {}),
+            },
+        });
+        items.push(...(await response.json()));
+        after = response.headers.get('X-Next-Cursor');
+    } while (after);
+    return items;
+}
+
+// Loads one page of a list endpoint. nextCursor is the X-Next-Cursor header
+// (keyset mode) and hasNext the X-Has-Next header (both modes)
+export async function fetchPage(path, searchParams = {}) {
+    const response = await apiClient.get(path, { searchParams });
+    return {
+        items: await response.json(),
+        nextCursor: response.headers.get('X-Next-Cursor') ?? undefined,
+        hasNext: response.headers.get('X-Has-Next') === 'true',
+    };
+}
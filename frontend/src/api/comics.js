@@ -1,8 +1,21 @@
-import { apiClient } from './client';
+import { apiClient, fetchPage } from './client';
 
 export const comicApi = {
-    // GET /api/comics - List all comics
-    getAll: () => apiClient.get('comics').json(),
+    // GET /api/comics - One page of comics by id; pass the previous page's
+    // nextCursor to get the one after it
+    getPage: (after, size = 50) =>
+        fetchPage('comics', { size, ...(after ? { after } : {}) }),
+
+    // GET /api/comics/count - Total number of comics
+    count: () => apiClient.get('comics/count').json(),
+
+    // GET /api/comics/search - Ranked search by name, SKU or description (first page)
+    search: (q, size = 50) =>
+        apiClient.get('comics/search', { searchParams: { q, size } }).json(),
+
+    // GET /api/comics/search - One page of the ranked search, page numbers from 0
+    searchPage: (q, page, size = 50) =>
+        fetchPage('comics/search', { q, page, size }),
 
     // GET /api/comics/{id} - Get single comic
     getById: (id) => apiClient.get(`comics/${id}`).json(),
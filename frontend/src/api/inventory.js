@@ -1,25 +1,46 @@
-import { apiClient } from './client';
+import { apiClient, fetchAllPages } from './client';
+
+// One Idempotency-Key per call, so ky can retry the mutation after a gateway
+// error or lost response and the server still applies it only once
+const idempotent = () => ({
+    headers: { 'Idempotency-Key': crypto.randomUUID() },
+    retry: {
+        limit: 2,
+        methods: ['post', 'put', 'delete'],
+        statusCodes: [408, 502, 503, 504],
+    },
+});
 
 export const inventoryApi = {
     // GET /api/vaults/{vaultId}/inventory - Get all inventories for a vault
-    getByVault: (vaultId) =>
-        apiClient.get(`vaults/${vaultId}/inventory`).json(),
+    // (follows pagination cursors)
+    getByVault: (vaultId) => fetchAllPages(`vaults/${vaultId}/inventory`),
 
     // POST /api/vaults/{vaultId}/inventory - Add comic to vault
     addComic: (vaultId, data) =>
-        apiClient.post(`vaults/${vaultId}/inventory`, { json: data }).json(),
+        apiClient
+            .post(`vaults/${vaultId}/inventory`, { json: data, ...idempotent() })
+            .json(),
 
     // PUT /api/vaults/{vaultId}/inventory/{comicId} - Update quantity
     updateQuantity: (vaultId, comicId, data) =>
         apiClient
-            .put(`vaults/${vaultId}/inventory/${comicId}`, { json: data })
+            .put(`vaults/${vaultId}/inventory/${comicId}`, {
+                json: data,
+                ...idempotent(),
+            })
             .json(),
 
     // DELETE /api/vaults/{vaultId}/inventory/{comicId} - Remove from vault
     removeComic: (vaultId, comicId) =>
-        apiClient.delete(`vaults/${vaultId}/inventory/${comicId}`),
+        apiClient.delete(
+            `vaults/${vaultId}/inventory/${comicId}`,
+            idempotent()
+        ),
 
     // POST /api/inventory/transfer - Transfer between vaults
     transfer: (data) =>
-        apiClient.post('inventory/transfer', { json: data }).json(),
+        apiClient
+            .post('inventory/transfer', { json: data, ...idempotent() })
+            .json(),
 };
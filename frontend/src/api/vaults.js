@@ -1,8 +1,14 @@
-import { apiClient } from './client';
+import { apiClient, fetchAllPages } from './client';
 
 export const vaultApi = {
-    // GET /api/vaults - List all vaults
-    getAll: () => apiClient.get('vaults').json(),
+    // GET /api/vaults - List all vaults (follows pagination cursors)
+    getAll: () => fetchAllPages('vaults'),
+
+    // GET /api/vaults/summary - Capacity overview of every vault
+    getSummary: () => apiClient.get('vaults/summary').json(),
+
+    // GET /api/alerts - Vaults currently in a capacity alert, critical first
+    getAlerts: () => apiClient.get('alerts').json(),
 
     // GET /api/vaults/{id} - Get single vault
     getById: (id) => apiClient.get(`vaults/${id}`).json(),
@@ -1,6 +1,12 @@
 import { useState, useEffect } from 'react';
 import { Modal, Select, NumberInput, Button, Group } from '@mantine/core';
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import { useDebouncedValue } from '@mantine/hooks';
+import {
+    keepPreviousData,
+    useQuery,
+    useMutation,
+    useQueryClient,
+} from '@tanstack/react-query';
 import { comicApi } from '../../api/comics';
 import { inventoryApi } from '../../api/inventory';
 import { showSuccess, showError } from '../../utils/notifications';
@@ -16,18 +22,37 @@ function AddComicModal({ opened, onClose, vaultId, vault }) {
 
     const [errors, setErrors] = useState({});
 
+    // what is typed in the comic picker, and the comic picked from it
+    const [comicSearch, setComicSearch] = useState('');
+    const [selectedComic, setSelectedComic] = useState(null);
+    const [debouncedSearch] = useDebouncedValue(comicSearch.trim(), 250);
+
     // Clear form and errors when modal closes
     useEffect(() => {
         if (!opened) {
             setFormData({ comicId: '', quantity: 1 });
             setErrors({});
+            setComicSearch('');
+            setSelectedComic(null);
         }
     }, [opened]);
 
-    // fetch comics and cache under 'comics' key
+    // the picker shows the picked comic's label as its search text; that isn't a new search
+    const searchTerm =
+        selectedComic && comicSearch === comicLabel(selectedComic)
+            ? ''
+            : debouncedSearch;
+
+    // fetch matching comics from the server search (the first page of the
+    // catalog before anything is typed), only while the modal is open
     const { data: comics } = useQuery({
-        queryKey: ['comics'],
-        queryFn: comicApi.getAll,
+        queryKey: ['comics', 'options', searchTerm],
+        queryFn: () =>
+            searchTerm
+                ? comicApi.search(searchTerm)
+                : comicApi.getPage().then((page) => page.items),
+        enabled: opened,
+        placeholderData: keepPreviousData,
     });
 
     // fetch vault's inventory and cache under ['inventory', vaultId] key
@@ -53,12 +78,19 @@ function AddComicModal({ opened, onClose, vaultId, vault }) {
         },
     });
 
-    // possible comics to add to vault's inventory
-    const comicOptions =
-        comics?.map((comic) => ({
-            value: comic.id.toString(),
-            label: `${comic.name} (${comic.sku})`,
-        })) || [];
+    // possible comics to add to vault's inventory; the picked one stays an
+    // option when a later search doesn't return it
+    const optionComics = [...(comics ?? [])];
+    if (
+        selectedComic &&
+        !optionComics.some((comic) => comic.id === selectedComic.id)
+    ) {
+        optionComics.unshift(selectedComic);
+    }
+    const comicOptions = optionComics.map((comic) => ({
+        value: comic.id.toString(),
+        label: comicLabel(comic),
+    }));
 
     // client side validation of fields
     const validate = () => {
@@ -114,8 +146,16 @@ function AddComicModal({ opened, onClose, vaultId, vault }) {
                     placeholder='Select a comic'
                     data={comicOptions}
                     searchable
+                    searchValue={comicSearch}
+                    onSearchChange={setComicSearch}
+                    filter={showAllOptions}
                     value={formData.comicId}
                     onChange={(value) => {
+                        setSelectedComic(
+                            optionComics.find(
+                                (comic) => comic.id.toString() === value
+                            ) ?? null
+                        );
                         setFormData({ ...formData, comicId: value });
                         setErrors({ ...errors, comicId: '' });
                     }}
@@ -156,4 +196,12 @@ function AddComicModal({ opened, onClose, vaultId, vault }) {
     );
 }
 
+// the server search already matched name, SKU and description, so the picker
+// shows every option it returned
+const showAllOptions = ({ options }) => options;
+
+function comicLabel(comic) {
+    return `${comic.name} (${comic.sku})`;
+}
+
 export default AddComicModal;
@@ -34,15 +34,15 @@ function InventoryTable({ inventory, vaultId, vault }) {
             children: (
                 <p>
                     Are you sure you want to remove{' '}
-                    <strong>{item.comic.name}</strong> from this vault?
+                    <strong>{item.name}</strong> from this vault?
                 </p>
             ),
             labels: { confirm: 'Remove', cancel: 'Cancel' },
             confirmProps: { color: 'red' },
             onConfirm: () =>
                 removeMutation.mutate({
-                    comicId: item.comic.id,
-                    comicName: item.comic.name,
+                    comicId: item.comicId,
+                    comicName: item.name,
                 }),
         });
     };
@@ -70,12 +70,12 @@ function InventoryTable({ inventory, vaultId, vault }) {
                 <Table.Tbody>
                     {inventory.map((item) => (
                         <Table.Tr key={item.id}>
-                            <Table.Td>{item.comic.sku}</Table.Td>
-                            <Table.Td>{item.comic.name}</Table.Td>
+                            <Table.Td>{item.sku}</Table.Td>
+                            <Table.Td>{item.name}</Table.Td>
                             <Table.Td>
-                                {item.comic.price !== null &&
-                                item.comic.price !== undefined
-                                    ? `$${Number(item.comic.price).toFixed(2)}`
+                                {item.price !== null &&
+                                item.price !== undefined
+                                    ? `$${Number(item.price).toFixed(2)}`
                                     : '-'}
                             </Table.Td>
                             <Table.Td>{item.quantity}</Table.Td>
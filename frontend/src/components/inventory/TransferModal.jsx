@@ -86,13 +86,13 @@ function TransferModal({ opened, onClose, sourceVaultId }) {
     // list of comic options from source inventory
     const comicOptions =
         sourceInventory?.map((item) => ({
-            value: item.comic.id.toString(),
-            label: `${item.comic.name} (Available: ${item.quantity})`,
+            value: item.comicId.toString(),
+            label: `${item.name} (Available: ${item.quantity})`,
         })) || [];
 
     // get max quantity for selected comic
     const selectedInventoryItem = sourceInventory?.find(
-        (item) => item.comic.id.toString() === formData.comicId
+        (item) => item.comicId.toString() === formData.comicId
     );
     const maxQuantity = selectedInventoryItem?.quantity || 0;
 
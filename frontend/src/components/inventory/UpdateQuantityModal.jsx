@@ -25,7 +25,7 @@ function UpdateQuantityModal({ item, vaultId, vault, currentInventory, onClose }
     // invalidate dependent queries on success
     const updateMutation = useMutation({
         mutationFn: (data) =>
-            inventoryApi.updateQuantity(vaultId, item.comic.id, data),
+            inventoryApi.updateQuantity(vaultId, item.comicId, data),
         onSuccess: () => {
             showSuccess('Quantity updated');
             queryClient.invalidateQueries({ queryKey: ['inventory', vaultId] });
@@ -72,7 +72,7 @@ function UpdateQuantityModal({ item, vaultId, vault, currentInventory, onClose }
         <Modal
             opened={!!item}
             onClose={onClose}
-            title={`Update Quantity: ${item.comic.name}`}
+            title={`Update Quantity: ${item.name}`}
         >
             <form onSubmit={handleSubmit}>
                 <NumberInput
@@ -3,11 +3,15 @@ import { Outlet } from 'react-router-dom';
 import { AppShell, Burger, Group, Title } from '@mantine/core';
 
 import Sidebar from './Sidebar';
+import { useInventoryEvents } from '../../hooks/useInventoryEvents';
 
 function Layout() {
     // Mobile burger menu
     const [opened, setOpened] = useState(false);
 
+    // Live inventory and vault updates for every page
+    useInventoryEvents();
+
     return (
         <AppShell
             header={{ height: 60 }}
@@ -14,6 +14,8 @@ function VaultForm({ opened, vault, onClose, onSuccess }) {
         name: vault?.name || '',
         location: vault?.location || '',
         maxCapacity: vault?.maxCapacity || 100,
+        warningThreshold: vault?.warningThreshold ?? '',
+        criticalThreshold: vault?.criticalThreshold ?? '',
     });
 
     const [errors, setErrors] = useState({});
@@ -25,6 +27,8 @@ function VaultForm({ opened, vault, onClose, onSuccess }) {
                 name: vault?.name || '',
                 location: vault?.location || '',
                 maxCapacity: vault?.maxCapacity || 100,
+                warningThreshold: vault?.warningThreshold ?? '',
+                criticalThreshold: vault?.criticalThreshold ?? '',
             });
             setErrors({});
         }
@@ -74,6 +78,20 @@ function VaultForm({ opened, vault, onClose, onSuccess }) {
             newErrors.maxCapacity = 'Max capacity must be at least 1';
         }
 
+        // Thresholds are optional; empty uses the server's defaults
+        const warning = formData.warningThreshold;
+        const critical = formData.criticalThreshold;
+        if (warning !== '' && (warning < 1 || warning > 100)) {
+            newErrors.warningThreshold = 'Must be between 1 and 100';
+        }
+        if (critical !== '' && (critical < 1 || critical > 100)) {
+            newErrors.criticalThreshold = 'Must be between 1 and 100';
+        }
+        if (warning !== '' && critical !== '' && warning >= critical) {
+            newErrors.warningThreshold =
+                'Must be lower than the critical threshold';
+        }
+
         return newErrors;
     };
 
@@ -89,11 +107,23 @@ function VaultForm({ opened, vault, onClose, onSuccess }) {
 
         setErrors({});
 
+        const data = {
+            ...formData,
+            warningThreshold:
+                formData.warningThreshold === ''
+                    ? null
+                    : formData.warningThreshold,
+            criticalThreshold:
+                formData.criticalThreshold === ''
+                    ? null
+                    : formData.criticalThreshold,
+        };
+
         // Different mutations based on whether the form is for editing or deleting
         if (isEditing) {
-            updateMutation.mutate(formData);
+            updateMutation.mutate(data);
         } else {
-            createMutation.mutate(formData);
+            createMutation.mutate(data);
         }
     };
 
@@ -138,11 +168,36 @@ function VaultForm({ opened, vault, onClose, onSuccess }) {
                         setFormData({ ...formData, maxCapacity: value })
                     }
                     error={errors.maxCapacity}
-                    mb='md'
+                    mb='sm'
                     min={1}
                     required
                 />
 
+                <Group grow mb='md'>
+                    <NumberInput
+                        label='Warning at (%)'
+                        placeholder='Default'
+                        value={formData.warningThreshold}
+                        onChange={(value) =>
+                            setFormData({ ...formData, warningThreshold: value })
+                        }
+                        error={errors.warningThreshold}
+                        min={1}
+                        max={100}
+                    />
+                    <NumberInput
+                        label='Critical at (%)'
+                        placeholder='Default'
+                        value={formData.criticalThreshold}
+                        onChange={(value) =>
+                            setFormData({ ...formData, criticalThreshold: value })
+                        }
+                        error={errors.criticalThreshold}
+                        min={1}
+                        max={100}
+                    />
+                </Group>
+
                 <Group justify='flex-end' mt='md'>
                     <Button
                         variant='subtle'
@@ -0,0 +1,172 @@
+import { useEffect } from 'react';
+import { useQueryClient } from '@tanstack/react-query';
+import { notifications } from '@mantine/notifications';
+
+// Matches a vault's cached inventory list, ['inventory', vaultId]; the id is
+// a string when it comes from the route and a number elsewhere
+const vaultInventory = (vaultId) => (query) =>
+    query.queryKey[0] === 'inventory' &&
+    String(query.queryKey[1]) === String(vaultId);
+
+// Patches one vault's capacity fields wherever it is cached: the vault list
+// ['vaults'], a single vault ['vaults', id] and the summary ['vaults', 'summary'];
+// the active alerts ['vaults', 'alerts'] are keyed by vaultId, so they are skipped
+function patchVault(queryClient, event, summaryPatch = {}) {
+    const update = (vault) => {
+        if (String(vault.id) !== String(event.vaultId)) return vault;
+        const patched = {
+            ...vault,
+            currentTotal: event.currentTotal,
+            maxCapacity: event.maxCapacity,
+        };
+        if (event.level && 'alertLevel' in vault) {
+            patched.alertLevel = event.level;
+        }
+        // Summary rows carry a percentage and a distinct comic count
+        if ('percentage' in vault) {
+            patched.percentage = event.maxCapacity
+                ? (event.currentTotal * 100) / event.maxCapacity
+                : 0;
+            patched.distinctComics =
+                vault.distinctComics + (summaryPatch.distinctDelta || 0);
+        }
+        return patched;
+    };
+
+    queryClient.setQueriesData({ queryKey: ['vaults'] }, (data) => {
+        if (!data) return data;
+        return Array.isArray(data) ? data.map(update) : update(data);
+    });
+}
+
+// Applies an INVENTORY event to the cached inventory list of its vault;
+// returns false when the row isn't cached and the list has to be refetched
+function patchInventory(queryClient, event) {
+    let complete = true;
+    queryClient.setQueriesData(
+        { predicate: vaultInventory(event.vaultId) },
+        (items) => {
+            if (!Array.isArray(items)) return items;
+            if (event.quantity === 0) {
+                return items.filter((item) => item.comicId !== event.comicId);
+            }
+            if (!items.some((item) => item.comicId === event.comicId)) {
+                // A new row; the event doesn't carry the comic's details
+                complete = false;
+                return items;
+            }
+            return items.map((item) =>
+                item.comicId === event.comicId
+                    ? { ...item, quantity: event.quantity }
+                    : item
+            );
+        }
+    );
+    return complete;
+}
+
+// Keeps the React Query cache in sync with GET /api/events (Server-Sent Events)
+// so open pages see inventory and vault changes made elsewhere without refetching
+export function useInventoryEvents() {
+    const queryClient = useQueryClient();
+
+    useEffect(() => {
+        const source = new EventSource('/api/events');
+        // Highest event id applied per vault and per inventory row; events from
+        // concurrent requests can arrive slightly out of order. Ids restart at 1
+        // when the backend restarts, so they are forgotten on every resync
+        const lastIds = new Map();
+        const isNewer = (key, id) => {
+            if (id <= (lastIds.get(key) || 0)) return false;
+            lastIds.set(key, id);
+            return true;
+        };
+        let reconnecting = false;
+
+        const refetchAll = () => {
+            lastIds.clear();
+            queryClient.invalidateQueries({ queryKey: ['vaults'] });
+            queryClient.invalidateQueries({ queryKey: ['inventory'] });
+        };
+
+        source.onopen = () => {
+            // Changes made while disconnected were missed, and the backend may
+            // have restarted with new ids
+            if (reconnecting) refetchAll();
+            reconnecting = false;
+        };
+
+        source.onerror = () => {
+            reconnecting = true;
+        };
+
+        source.onmessage = (message) => {
+            const event = JSON.parse(message.data);
+
+            if (event.type === 'RESYNC') {
+                refetchAll();
+                return;
+            }
+            if (event.type === 'INVENTORY') {
+                const isNewRow =
+                    event.quantityDelta > 0 &&
+                    event.quantity === event.quantityDelta;
+                if (isNewer(`vault:${event.vaultId}`, event.id)) {
+                    patchVault(queryClient, event, {
+                        distinctDelta:
+                            event.quantity === 0 ? -1 : isNewRow ? 1 : 0,
+                    });
+                }
+                if (
+                    isNewer(`row:${event.vaultId}:${event.comicId}`, event.id) &&
+                    !patchInventory(queryClient, event)
+                ) {
+                    queryClient.invalidateQueries({
+                        predicate: vaultInventory(event.vaultId),
+                    });
+                }
+                return;
+            }
+            if (!isNewer(`vault:${event.vaultId}`, event.id)) return;
+
+            switch (event.type) {
+                case 'INVENTORY_BATCH':
+                    // Too many rows changed to patch; reload this vault's inventory
+                    patchVault(queryClient, event);
+                    queryClient.invalidateQueries({
+                        queryKey: ['vaults', 'summary'],
+                    });
+                    queryClient.invalidateQueries({
+                        predicate: vaultInventory(event.vaultId),
+                    });
+                    break;
+                case 'CAPACITY':
+                    // The vault's alert level changed; NONE means it cleared
+                    patchVault(queryClient, event);
+                    queryClient.invalidateQueries({
+                        queryKey: ['vaults', 'alerts'],
+                    });
+                    if (event.level !== 'NONE') {
+                        notifications.show({
+                            title:
+                                event.level === 'CRITICAL'
+                                    ? 'Capacity Critical'
+                                    : 'Capacity Warning',
+                            message: `Vault ${event.vaultId} is at ${event.threshold}% capacity or more`,
+                            color: event.level === 'CRITICAL' ? 'red' : 'yellow',
+                        });
+                    }
+                    break;
+                case 'VAULT':
+                case 'VAULT_DELETED':
+                    // Name and location aren't in the event
+                    queryClient.invalidateQueries({ queryKey: ['vaults'] });
+                    break;
+                default:
+                    break;
+            }
+        };
+
+        return () => source.close();
+    }, [queryClient]);
+}
@@ -1,14 +1,22 @@
-import { useState } from 'react';
+import { useEffect, useState } from 'react';
 import {
+    Box,
+    Center,
     Container,
     Title,
     Button,
     Group,
+    Loader,
     Stack,
     TextInput,
 } from '@mantine/core';
 import { IconPlus, IconSearch } from '@tabler/icons-react';
-import { useQuery, useQueryClient } from '@tanstack/react-query';
+import { useDebouncedValue, useIntersection } from '@mantine/hooks';
+import {
+    keepPreviousData,
+    useInfiniteQuery,
+    useQueryClient,
+} from '@tanstack/react-query';
 import { comicApi } from '../api/comics';
 import ComicList from '../components/comics/ComicList';
 import ComicForm from '../components/comics/ComicForm';
@@ -18,19 +26,45 @@ import ErrorAlert from '../components/shared/ErrorAlert';
 function ComicsPage() {
     const [formComic, setFormComic] = useState(null);
     const [searchQuery, setSearchQuery] = useState('');
+    const [debouncedQuery] = useDebouncedValue(searchQuery.trim(), 250);
 
     const queryClient = useQueryClient();
 
-    // Fetch all comics and cache result
-    const {
-        data: comics,
-        isLoading,
-        error,
-    } = useQuery({
-        queryKey: ['comics'],
-        queryFn: comicApi.getAll,
+    // The catalog a page at a time, following the id cursor; the rest loads as
+    // the user scrolls, so a large catalog is never fetched whole
+    const catalog = useInfiniteQuery({
+        queryKey: ['comics', 'pages'],
+        queryFn: ({ pageParam }) => comicApi.getPage(pageParam),
+        initialPageParam: null,
+        getNextPageParam: (lastPage) => lastPage.nextCursor,
+        enabled: debouncedQuery === '',
+    });
+
+    // Server-side search once the user pauses typing, paged the same way; keeps
+    // showing the previous results while the next ones load
+    const search = useInfiniteQuery({
+        queryKey: ['comics', 'search', debouncedQuery],
+        queryFn: ({ pageParam }) =>
+            comicApi.searchPage(debouncedQuery, pageParam),
+        initialPageParam: 0,
+        getNextPageParam: (lastPage, pages) =>
+            lastPage.hasNext ? pages.length : undefined,
+        enabled: debouncedQuery !== '',
+        placeholderData: keepPreviousData,
     });
 
+    // Search results while a query is entered, otherwise the catalog
+    const shown = debouncedQuery !== '' ? search : catalog;
+    const { hasNextPage, isFetchingNextPage, fetchNextPage } = shown;
+
+    // Loads the next page once the end of the list scrolls into view
+    const { ref: endOfList, entry } = useIntersection({ rootMargin: '400px' });
+    useEffect(() => {
+        if (entry?.isIntersecting && hasNextPage && !isFetchingNextPage) {
+            fetchNextPage();
+        }
+    }, [entry?.isIntersecting, hasNextPage, isFetchingNextPage, fetchNextPage]);
+
     const handleClose = () => {
         setFormComic(null);
     };
@@ -41,16 +75,10 @@ function ComicsPage() {
         handleClose();
     };
 
-    // Client-side filtering of comics by search query
-    const filteredComics = comics?.filter(
-        (comic) =>
-            comic.name.toLowerCase().includes(searchQuery.toLowerCase()) ||
-            comic.sku.toLowerCase().includes(searchQuery.toLowerCase()) ||
-            comic.description?.toLowerCase().includes(searchQuery.toLowerCase())
-    );
+    const comics = shown.data?.pages.flatMap((page) => page.items) ?? [];
 
-    if (isLoading) return <LoadingSpinner />;
-    if (error) return <ErrorAlert message={error.message} />;
+    if (catalog.isLoading) return <LoadingSpinner />;
+    if (catalog.error) return <ErrorAlert message={catalog.error.message} />;
 
     return (
         <Container size='xl'>
@@ -72,11 +100,20 @@ function ComicsPage() {
                     onChange={(e) => setSearchQuery(e.target.value)}
                 />
 
+                {search.error && <ErrorAlert message={search.error.message} />}
+
                 <ComicList
-                    comics={filteredComics}
+                    comics={comics}
                     onEdit={(comic) => setFormComic(comic)}
                 />
 
+                <Box ref={endOfList} h={1} />
+                {isFetchingNextPage && (
+                    <Center>
+                        <Loader size='sm' />
+                    </Center>
+                )}
+
                 <ComicForm
                     opened={formComic !== null}
                     comic={formComic?.id ? formComic : null}
@@ -15,72 +15,39 @@ import { useQuery } from '@tanstack/react-query';
 import { useNavigate } from 'react-router-dom';
 import { vaultApi } from '../api/vaults';
 import { comicApi } from '../api/comics';
-import { inventoryApi } from '../api/inventory';
 import LoadingSpinner from '../components/shared/LoadingSpinner';
 import ErrorAlert from '../components/shared/ErrorAlert';
-import {
-    calculateTotalQuantity,
-    calculateCapacityPercentage,
-} from '../utils/inventory';
 
 function Dashboard() {
     const navigate = useNavigate();
 
-    // Fetch all vaults and cache result
-    // Shares key with the useQuery in VaultsPage
+    // Fetch capacity summary of every vault in one request
+    // 'vaults' prefix means every vault and inventory mutation invalidates it
     const {
-        data: vaults,
+        data: vaultSummaries,
         isLoading: vaultsLoading,
         error: vaultsError,
     } = useQuery({
-        queryKey: ['vaults'],
-        queryFn: vaultApi.getAll,
+        queryKey: ['vaults', 'summary'],
+        queryFn: vaultApi.getSummary,
+    });
+
+    // Fetch the active capacity alerts; the server keeps them up to date on every
+    // inventory write, so the banner doesn't recompute anything from the summary
+    const { data: alerts } = useQuery({
+        queryKey: ['vaults', 'alerts'],
+        queryFn: vaultApi.getAlerts,
     });
 
-    // Fetch all comics and cache result
-    // Shares key with the useQuery in ComicsPage
+    // Fetch the comic count only; the dashboard never needs the comics themselves
+    // 'comics' prefix means comic mutations invalidate it
     const {
-        data: comics,
+        data: comicCount,
         isLoading: comicsLoading,
         error: comicsError,
     } = useQuery({
-        queryKey: ['comics'],
-        queryFn: comicApi.getAll,
-    });
-
-    // Fetch inventory for all vaults to calculate capacity
-    const { data: vaultInventories } = useQuery({
-        queryKey: ['dashboard', vaults?.length],
-        queryFn: async () => {
-            if (!vaults) return [];
-            const inventories = await Promise.all(
-                vaults.map(async (vault) => {
-                    try {
-                        const inventory = await inventoryApi.getByVault(
-                            vault.id
-                        );
-                        const currentCount = calculateTotalQuantity(inventory);
-                        const percentage = calculateCapacityPercentage(
-                            currentCount,
-                            vault.maxCapacity
-                        );
-                        return {
-                            vault,
-                            currentCount,
-                            percentage,
-                        };
-                    } catch {
-                        return {
-                            vault,
-                            currentCount: 0,
-                            percentage: 0,
-                        };
-                    }
-                })
-            );
-            return inventories;
-        },
-        enabled: !!vaults?.length,
+        queryKey: ['comics', 'count'],
+        queryFn: comicApi.count,
     });
 
     // if loading / error
@@ -96,12 +63,9 @@ function Dashboard() {
         return 'green';
     };
 
-    // filtering for capacity alerts in the warning banner
-    // only when capacity is at 80% or higher
-    const vaultsWithCapacity = vaultInventories || [];
-    const alertVaults = vaultsWithCapacity.filter(
-        ({ percentage }) => percentage >= 80
-    );
+    const vaultsWithCapacity = vaultSummaries || [];
+    const alertVaults = alerts || [];
+    const hasCritical = alertVaults.some(({ level }) => level === 'CRITICAL');
 
     return (
         <Container size='xl'>
@@ -113,19 +77,19 @@ function Dashboard() {
             {alertVaults.length > 0 && (
                 <Alert
                     icon={<IconAlertTriangle size={20} />}
-                    title='Capacity Warning'
-                    color='yellow'
+                    title={hasCritical ? 'Capacity Critical' : 'Capacity Warning'}
+                    color={hasCritical ? 'red' : 'yellow'}
                     mb='md'
                 >
                     {alertVaults.length === 1 ? (
                         <Text size='sm'>
-                            <strong>{alertVaults[0].vault.name}</strong> is at{' '}
+                            <strong>{alertVaults[0].vaultName}</strong> is at{' '}
                             {alertVaults[0].percentage.toFixed(0)}% capacity
                         </Text>
                     ) : (
                         <Text size='sm'>
-                            {alertVaults.length} vaults are at or above 80%
-                            capacity
+                            {alertVaults.length} vaults are over their capacity
+                            thresholds
                         </Text>
                     )}
                 </Alert>
@@ -143,7 +107,7 @@ function Dashboard() {
                         </Anchor>
                         <div>
                             <Text size='xl' fw={700}>
-                                {vaults?.length || 0}
+                                {vaultSummaries?.length || 0}
                             </Text>
                             <Text size='sm' c='dimmed'>
                                 Total Vaults
@@ -162,7 +126,7 @@ function Dashboard() {
                         </Anchor>
                         <div>
                             <Text size='xl' fw={700}>
-                                {comics?.length || 0}
+                                {comicCount || 0}
                             </Text>
                             <Text size='sm' c='dimmed'>
                                 Total Comics
@@ -180,7 +144,7 @@ function Dashboard() {
                     </Title>
                     <Stack gap='md'>
                         {vaultsWithCapacity.map(
-                            ({ vault, currentCount, percentage }) => (
+                            (vault) => (
                                 <Paper
                                     key={vault.id}
                                     shadow='sm'
@@ -201,13 +165,16 @@ function Dashboard() {
                                             {vault.name}
                                         </Anchor>
                                         <Text size='sm' c='dimmed'>
-                                            {currentCount} / {vault.maxCapacity}{' '}
-                                            ({percentage.toFixed(1)}%)
+                                            {vault.currentTotal} /{' '}
+                                            {vault.maxCapacity} (
+                                            {vault.percentage.toFixed(1)}%)
                                         </Text>
                                     </Group>
                                     <Progress
-                                        value={percentage}
-                                        color={getCapacityColor(percentage)}
+                                        value={vault.percentage}
+                                        color={getCapacityColor(
+                                            vault.percentage
+                                        )}
                                         size='lg'
                                         radius='md'
                                     />